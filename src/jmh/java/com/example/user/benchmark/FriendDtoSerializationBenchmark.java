@@ -0,0 +1,43 @@
+package com.example.user.benchmark;
+
+import com.example.user.dto.FriendDTO;
+import com.example.user.entity.Friend;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FriendDtoSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<FriendDTO> friends;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        friends = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            friends.add(new FriendDTO("user" + i, "nickname" + i, Friend.Status.FRIEND));
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(friends);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.user.benchmark;
+
+import com.example.user.config.security.JwtAuthenticationFilter;
+import com.example.user.config.security.JwtKey;
+import com.example.user.config.security.JwtKeySet;
+import com.example.user.config.security.JwtTokenProvider;
+import com.example.user.config.security.TokenRevocationList;
+import com.example.user.config.security.VerifiedTokenCache;
+import com.example.user.entity.User;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        Duration maxTtl = cached ? Duration.ofMinutes(10) : Duration.ZERO;
+        JwtKeySet keySet = new JwtKeySet();
+        keySet.replaceAll(List.of(JwtKey.generate(SignatureAlgorithm.ES256, Instant.now(), Instant.now().plus(Duration.ofDays(1)))));
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(new VerifiedTokenCache(10_000, maxTtl), keySet, "", "", true);
+        String token = jwtTokenProvider.createToken("benchmark-user", Set.of(User.UserRole.ROLE_USER), false);
+
+        // 저장소 없이 빈 무효화 목록 (조회 비용만 측정)
+        filter = new JwtAuthenticationFilter(jwtTokenProvider, new TokenRevocationList(null));
+        request = new MockHttpServletRequest("GET", "/api/v1/users/self");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        // MockFilterChain 은 한 번만 호출할 수 있어 매번 새로 만든다
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
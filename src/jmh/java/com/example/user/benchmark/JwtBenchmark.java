@@ -0,0 +1,67 @@
+package com.example.user.benchmark;
+
+import com.example.user.config.security.JwtKey;
+import com.example.user.config.security.JwtKeySet;
+import com.example.user.config.security.JwtTokenProvider;
+import com.example.user.config.security.VerifiedClaims;
+import com.example.user.config.security.VerifiedTokenCache;
+import com.example.user.entity.User;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtKeySet keySet = new JwtKeySet();
+        keySet.replaceAll(List.of(JwtKey.generate(SignatureAlgorithm.ES256, Instant.now(), Instant.now().plus(Duration.ofDays(1)))));
+        cachedProvider = new JwtTokenProvider(new VerifiedTokenCache(10_000, Duration.ofMinutes(10)), keySet, "", "", true);
+        // max-ttl 0: 매번 서명 검증 + 파싱
+        uncachedProvider = new JwtTokenProvider(new VerifiedTokenCache(10_000, Duration.ZERO), keySet, "", "", true);
+        token = cachedProvider.createToken("benchmark-user", Set.of(User.UserRole.ROLE_USER), false);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return cachedProvider.createToken("benchmark-user", Set.of(User.UserRole.ROLE_USER), false);
+    }
+
+    @Benchmark
+    public VerifiedClaims verifyUncached() {
+        return uncachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedClaims verifyCached() {
+        return cachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return cachedProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public List<GrantedAuthority> getAuthorities() {
+        return cachedProvider.getAuthorities(token);
+    }
+}
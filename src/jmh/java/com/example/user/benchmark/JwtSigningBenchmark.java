@@ -0,0 +1,72 @@
+package com.example.user.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서명 알고리즘별 JWT 발급 / 검증 비용 (캐시 없이 서명 연산만).
+ * 다른 서비스는 공개키로 검증만 하므로 verify 결과를 주로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtSigningBenchmark {
+    @Param({"HS256", "RS256", "ES256"})
+    public String algorithm;
+
+    private SignatureAlgorithm signatureAlgorithm;
+    private Key signingKey;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        Key verificationKey;
+        if (signatureAlgorithm.isHmac()) {
+            signingKey = Keys.secretKeyFor(signatureAlgorithm);
+            verificationKey = signingKey;
+        } else {
+            KeyPair keyPair = Keys.keyPairFor(signatureAlgorithm);
+            signingKey = keyPair.getPrivate();
+            verificationKey = keyPair.getPublic();
+        }
+        parser = Jwts.parserBuilder().setSigningKey(verificationKey).build();
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        Date now = new Date();
+        return Jwts.builder()
+                .setSubject("benchmark-user")
+                .claim("roles", List.of("ROLE_USER"))
+                .claim("deletionRequested", false)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + TimeUnit.DAYS.toMillis(90)))
+                .signWith(signingKey, signatureAlgorithm)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
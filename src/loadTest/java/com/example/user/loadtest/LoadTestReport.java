@@ -0,0 +1,55 @@
+package com.example.user.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 시나리오 하나의 지연시간 기록 (요청 수만큼 미리 할당)
+class LoadTestReport {
+    private final String scenario;
+    private final long[] latencies;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private long elapsedNanos;
+
+    LoadTestReport(String scenario, int requests) {
+        this.scenario = scenario;
+        this.latencies = new long[requests];
+    }
+
+    void record(long latencyNanos, boolean success) {
+        latencies[recorded.getAndIncrement()] = latencyNanos;
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    int errors() {
+        return errors.get();
+    }
+
+    String summary() {
+        int count = recorded.get();
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double throughput = count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        return String.format("%-22s %7d req %9.1f req/s  p50 %8.2f ms  p99 %8.2f ms  errors %d",
+                scenario, count, throughput, millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), errors.get());
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
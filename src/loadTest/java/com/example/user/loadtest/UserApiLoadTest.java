@@ -0,0 +1,232 @@
+package com.example.user.loadtest;
+
+import com.example.user.entity.Friend;
+import com.example.user.entity.User;
+import com.example.user.repository.FriendRepository;
+import com.example.user.repository.UserRepository;
+import com.example.user.service.FriendshipGraph;
+import com.example.user.service.NicknameSearchIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 위에서 앱을 띄우고 주요 API 에 동시 요청을 보내 처리량과 p50/p99 지연시간을 출력한다.
+ * ./gradlew loadTest -Ploadtest.users=500 -Ploadtest.concurrency=32 -Ploadtest.requests=5000
+ * 클라이언트는 가상 스레드로 실행되므로 concurrency 를 수천까지 올릴 수 있다.
+ * -Ploadtest.profiles=virtual-threads 로 서버를 가상 스레드 모드로 띄워 비교한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles(resolver = UserApiLoadTest.LoadTestProfiles.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UserApiLoadTest {
+	private static final String PASSWORD = "load-test-password";
+
+	private final int users = Integer.getInteger("loadtest.users", 200);
+	private final int friendsPerUser = Integer.getInteger("loadtest.friends", 10);
+	private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+	private final int requests = Integer.getInteger("loadtest.requests", 2000);
+
+	@LocalServerPort
+	private int port;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private FriendRepository friendRepository;
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+	@Autowired
+	private NicknameSearchIndex nicknameSearchIndex;
+	@Autowired
+	private FriendshipGraph friendshipGraph;
+
+	private final HttpClient httpClient = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	private String[] tokens;
+
+	@BeforeAll
+	void seed() {
+		// 모든 사용자가 같은 해시를 쓰도록 한 번만 인코딩
+		String encodedPassword = passwordEncoder.encode(PASSWORD);
+		List<User> seededUsers = new ArrayList<>(users);
+		for (int i = 0; i < users; i++) {
+			User user = User.builder()
+					.id(userId(i))
+					.nickname(nickname(i))
+					.password(encodedPassword)
+					.build();
+			user.getRoles().add(User.UserRole.ROLE_USER);
+			seededUsers.add(user);
+		}
+		userRepository.saveAll(seededUsers);
+
+		// i 는 i+1 .. i+friendsPerUser 와 친구, i+friendsPerUser+1 에게 친구 요청
+		List<Friend> relationships = new ArrayList<>();
+		for (int i = 0; i < users; i++) {
+			for (int k = 1; k <= friendsPerUser; k++) {
+				int j = (i + k) % users;
+				relationships.add(relationship(i, j, Friend.Status.FRIEND));
+				relationships.add(relationship(j, i, Friend.Status.FRIEND));
+			}
+			relationships.add(relationship(i, pendingTarget(i), Friend.Status.REQUEST));
+		}
+		friendRepository.saveAll(relationships);
+
+		// 앱이 뜬 뒤 repository 로 직접 넣었으므로 검색 인덱스 / 친구 그래프를 다시 채운다
+		nicknameSearchIndex.load();
+		friendshipGraph.load();
+		tokens = new String[users];
+	}
+
+	@Test
+	void userApiUnderLoad() throws Exception {
+		List<LoadTestReport> reports = new ArrayList<>();
+
+		reports.add(run("POST /sign-in", users, i -> {
+			HttpRequest request = post("/sign-in", null, "{\"id\":\"" + userId(i) + "\",\"password\":\"" + PASSWORD + "\"}");
+			return new Call(request, body -> tokens[i] = body);
+		}));
+		reports.add(run("GET /self", requests, n -> get("/self", randomUser())));
+		reports.add(run("GET /friends", requests, n -> get("/friends", randomUser())));
+		reports.add(run("GET /username?user=", requests, n -> {
+			int i = randomUser();
+			return get("/username?user=" + nickname(ThreadLocalRandom.current().nextInt(users)), i);
+		}));
+		// 아직 관계가 없는 상대에게만 요청 (요청마다 서로 다른 쌍)
+		int newRequests = Math.min(requests, users * Math.max(1, users - 2 * friendsPerUser - 3));
+		reports.add(run("POST /friends", newRequests, n -> {
+			int i = n % users;
+			int target = (i + friendsPerUser + 2 + n / users) % users;
+			return new Call(post("/friends", tokens[i], "{\"friendId\":\"" + userId(target) + "\"}"), null);
+		}));
+		// 사용자마다 받은 친구 요청 하나를 수락
+		reports.add(run("POST /friend-requests", users, i -> {
+			int requester = (i - friendsPerUser - 1 + users) % users;
+			return new Call(post("/friend-requests", tokens[i], "{\"friendId\":\"" + userId(requester) + "\"}"), null);
+		}));
+
+		System.out.printf("%nLoad test: %d users, %d friends each, concurrency %d, profiles %s%n",
+				users, friendsPerUser, concurrency, String.join(",", new LoadTestProfiles().resolve(getClass())));
+		reports.forEach(report -> System.out.println(report.summary()));
+		assertThat(reports).allSatisfy(report -> assertThat(report.errors()).isZero());
+	}
+
+	private LoadTestReport run(String scenario, int count, IntFunction<Call> calls) throws InterruptedException {
+		LoadTestReport report = new LoadTestReport(scenario, count);
+		AtomicInteger next = new AtomicInteger();
+		ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+		long start = System.nanoTime();
+		for (int w = 0; w < concurrency; w++) {
+			workers.execute(() -> {
+				int n;
+				while ((n = next.getAndIncrement()) < count) {
+					Call call = calls.apply(n);
+					long begin = System.nanoTime();
+					boolean success;
+					try {
+						HttpResponse<String> response = httpClient.send(call.request(), HttpResponse.BodyHandlers.ofString());
+						success = response.statusCode() / 100 == 2;
+						if (success && call.onBody() != null) {
+							call.onBody().accept(response.body());
+						}
+					} catch (Exception e) {
+						success = false;
+					}
+					report.record(System.nanoTime() - begin, success);
+				}
+			});
+		}
+		workers.shutdown();
+		workers.awaitTermination(10, TimeUnit.MINUTES);
+		report.finish(System.nanoTime() - start);
+		return report;
+	}
+
+	private Call get(String path, int user) {
+		HttpRequest request = HttpRequest.newBuilder(uri(path))
+				.header("Authorization", "Bearer " + tokens[user])
+				.GET()
+				.build();
+		return new Call(request, null);
+	}
+
+	private HttpRequest post(String path, String token, String body) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body));
+		if (token != null) {
+			builder.header("Authorization", "Bearer " + token);
+		}
+		return builder.build();
+	}
+
+	private URI uri(String path) {
+		return URI.create("http://localhost:" + port + "/api/v1/users" + path);
+	}
+
+	private int randomUser() {
+		return ThreadLocalRandom.current().nextInt(users);
+	}
+
+	private int pendingTarget(int i) {
+		return (i + friendsPerUser + 1) % users;
+	}
+
+	private Friend relationship(int from, int to, Friend.Status status) {
+		return Friend.builder()
+				.user(new User(userId(from)))
+				.friend(new User(userId(to)))
+				.status(status)
+				.build();
+	}
+
+	private static String userId(int i) {
+		return "lt-user-" + i;
+	}
+
+	private static String nickname(int i) {
+		return "lt-nick-" + i;
+	}
+
+	// loadtest 프로필에 -Ploadtest.profiles 로 지정한 프로필을 더한다
+	static class LoadTestProfiles implements ActiveProfilesResolver {
+		@Override
+		public String[] resolve(Class<?> testClass) {
+			List<String> profiles = new ArrayList<>(List.of("loadtest"));
+			for (String profile : System.getProperty("loadtest.profiles", "").split(",")) {
+				if (!profile.isBlank()) {
+					profiles.add(profile.trim());
+				}
+			}
+			return profiles.toArray(String[]::new);
+		}
+	}
+
+	private record Call(HttpRequest request, Consumer<String> onBody) {
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.user.config.kafka;
+
+import com.example.user.dto.GameResultEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 게임 결과 batch listener 설정.
+ * 게임이 몰려서 끝날 때 한 번의 poll 에 가능한 많은 결과가 담기도록 fetch 대기와 최대 레코드 수를 늘린다.
+ * 재시도를 다 써도 실패한 batch 와 형식이 잘못된 레코드는 <topic>.DLT 로 옮겨 나중에 다시 반영할 수 있게 한다.
+ */
+@Configuration
+public class GameResultKafkaConfig {
+
+    @Bean
+    public ConsumerFactory<String, GameResultEvent> gameResultConsumerFactory(
+            KafkaProperties kafkaProperties,
+            @Value("${user.points.consumer.group-id:user-points}") String groupId,
+            @Value("${user.points.consumer.max-poll-records:1000}") int maxPollRecords,
+            @Value("${user.points.consumer.fetch-min-bytes:16384}") int fetchMinBytes,
+            @Value("${user.points.consumer.fetch-max-wait-ms:200}") int fetchMaxWaitMs) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties(null));
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+
+        // 형식이 잘못된 레코드는 value 가 null 로 들어오고 batch 전체를 막지 않는다
+        JsonDeserializer<GameResultEvent> json = new JsonDeserializer<>(GameResultEvent.class, false);
+        json.ignoreTypeHeaders();
+        return new DefaultKafkaConsumerFactory<>(props,
+                new ErrorHandlingDeserializer<>(new StringDeserializer()),
+                new ErrorHandlingDeserializer<>(json));
+    }
+
+    // 역직렬화에 실패한 레코드는 원래 byte[] 그대로, 나머지는 JSON 으로 다시 보낸다
+    @Bean
+    public KafkaTemplate<Object, Object> gameResultDeadLetterKafkaTemplate(KafkaProperties kafkaProperties) {
+        Map<Class<?>, Serializer<?>> keySerializers = new LinkedHashMap<>();
+        keySerializers.put(byte[].class, new ByteArraySerializer());
+        keySerializers.put(String.class, new StringSerializer());
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(GameResultEvent.class, new JsonSerializer<GameResultEvent>().noTypeInfo());
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(null),
+                new DelegatingByTypeSerializer(keySerializers), new DelegatingByTypeSerializer(valueSerializers)));
+    }
+
+    // 실패한 batch (error handler) 와 형식이 잘못된 레코드 (GameResultListener) 가 같이 쓴다
+    @Bean
+    public DeadLetterPublishingRecoverer gameResultDeadLetterRecoverer(
+            KafkaTemplate<Object, Object> gameResultDeadLetterKafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(gameResultDeadLetterKafkaTemplate);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, GameResultEvent> gameResultListenerContainerFactory(
+            ConsumerFactory<String, GameResultEvent> gameResultConsumerFactory,
+            DeadLetterPublishingRecoverer gameResultDeadLetterRecoverer,
+            @Value("${user.points.listener.concurrency:1}") int concurrency,
+            @Value("${user.points.listener.auto-startup:true}") boolean autoStartup) {
+        ConcurrentKafkaListenerContainerFactory<String, GameResultEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(gameResultConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setAutoStartup(autoStartup);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        // DB 장애 등으로 실패하면 batch 전체를 다시 받는다 (event id 로 중복 반영 방지)
+        // 10분 넘게 실패하면 batch 의 레코드를 같은 파티션 번호의 DLT 로 보내고 넘어간다
+        ExponentialBackOff backOff = new ExponentialBackOff(500, 2.0);
+        backOff.setMaxInterval(30_000);
+        backOff.setMaxElapsedTime(600_000);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(gameResultDeadLetterRecoverer, backOff));
+        return factory;
+    }
+}
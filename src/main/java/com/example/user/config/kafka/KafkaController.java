@@ -1,22 +1,23 @@
 package com.example.user.config.kafka;
 
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.web.bind.annotation.PathVariable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example.user.entity.User;
+import com.example.user.service.UserServiceImpl;
 
 @RestController
+@RequiredArgsConstructor
 public class KafkaController {
+    private final UserServiceImpl userService;
 
-    @Autowired
-    private KafkaTemplate<Object, Object> template;
-
+    // 요청 스레드에서 Kafka 로 직접 보내지 않고 outbox 에 기록만 한다
     @PostMapping(path = "/join-waiting-room")
-    public void sendTo(@PathVariable String userId) {
-        this.template.send("user", new User(userId));
+    public ResponseEntity<Void> sendTo(Authentication authentication) {
+        userService.joinWaitingRoom(authentication.getName());
+        return ResponseEntity.accepted().build();
     }
 }
@@ -0,0 +1,65 @@
+package com.example.user.config.kafka;
+
+import com.example.user.dto.UserEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.charset.StandardCharsets;
+
+// UserEventSerializer 포맷을 읽는다. 이 서비스의 consumer 와 테스트, 다른 서비스 참고용
+public class UserEventDeserializer implements Deserializer<UserEvent> {
+
+    @Override
+    public UserEvent deserialize(String topic, byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            Reader reader = new Reader(bytes);
+            byte version = reader.readByte();
+            if (version != UserEventSerializer.VERSION) {
+                throw new SerializationException("Unsupported user event version: " + version);
+            }
+            UserEvent.Type type = UserEvent.Type.fromCode(reader.readByte() & 0xFF);
+            long eventId = reader.readVarLong();
+            long occurredAt = reader.readVarLong();
+            String userId = reader.readString((int) reader.readVarLong());
+            int dataLength = (int) reader.readVarLong();
+            String data = dataLength == 0 ? null : reader.readString(dataLength - 1);
+            return new UserEvent(eventId, type, userId, data, occurredAt);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new SerializationException("Malformed user event", e);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private int pos;
+
+        Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        byte readByte() {
+            return bytes[pos++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = bytes[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint too long");
+        }
+
+        String readString(int length) {
+            String value = new String(bytes, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+    }
+}
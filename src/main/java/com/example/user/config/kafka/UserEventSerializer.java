@@ -0,0 +1,66 @@
+package com.example.user.config.kafka;
+
+import com.example.user.dto.UserEvent;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UserEvent 를 JSON 대신 고정 순서의 바이너리로 직렬화한다.
+ *
+ * <pre>
+ * v1: version(1) | type code(1) | eventId(varint) | occurredAt(varint)
+ *     | userId(varint 길이 + UTF-8) | data(varint 길이+1 + UTF-8, 0 이면 null)
+ * </pre>
+ * 필드를 추가할 때는 VERSION 을 올리고 {@link UserEventDeserializer} 가 이전 버전도 읽도록 한다.
+ */
+public class UserEventSerializer implements Serializer<UserEvent> {
+    public static final byte VERSION = 1;
+
+    @Override
+    public byte[] serialize(String topic, UserEvent event) {
+        if (event == null) {
+            return null;
+        }
+        byte[] userId = event.userId().getBytes(StandardCharsets.UTF_8);
+        byte[] data = event.data() == null ? null : event.data().getBytes(StandardCharsets.UTF_8);
+
+        int size = 2 + varLongSize(event.eventId()) + varLongSize(event.occurredAt())
+                + varLongSize(userId.length) + userId.length
+                + (data == null ? 1 : varLongSize(data.length + 1L) + data.length);
+        byte[] out = new byte[size];
+        int pos = 0;
+        out[pos++] = VERSION;
+        out[pos++] = (byte) event.type().code();
+        pos = writeVarLong(out, pos, event.eventId());
+        pos = writeVarLong(out, pos, event.occurredAt());
+        pos = writeVarLong(out, pos, userId.length);
+        System.arraycopy(userId, 0, out, pos, userId.length);
+        pos += userId.length;
+        if (data == null) {
+            out[pos] = 0;
+        } else {
+            pos = writeVarLong(out, pos, data.length + 1L);
+            System.arraycopy(data, 0, out, pos, data.length);
+        }
+        return out;
+    }
+
+    static int varLongSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarLong(byte[] out, int pos, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+}
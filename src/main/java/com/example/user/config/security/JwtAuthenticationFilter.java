@@ -12,21 +12,29 @@ import java.io.IOException;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, TokenRevocationList tokenRevocationList) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String token = resolveToken(request);
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsername(token);
-            JwtAuthenticationToken authentication = new JwtAuthenticationToken(
-                    username, jwtTokenProvider.getAuthorities(token)
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            // 서명 검증 + claim 추출을 한 번만 수행 (캐시 hit 시 생략)
+            VerifiedClaims claims = jwtTokenProvider.verify(token);
+            // 로그아웃 / 탈퇴로 무효화된 토큰은 메모리 map 조회만으로 거른다
+            if (claims != null && !tokenRevocationList.isRevoked(claims)) {
+                JwtAuthenticationToken authentication = new JwtAuthenticationToken(
+                        claims.username(), claims.authorities()
+                );
+                // 로그아웃 등에서 jti / 발급 시각을 다시 파싱하지 않도록 claim 을 함께 둔다
+                authentication.setDetails(claims);
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
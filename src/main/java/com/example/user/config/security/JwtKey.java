@@ -0,0 +1,102 @@
+package com.example.user.config.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JWT 서명 키 한 쌍.
+ * activatesAt 이전에는 JWKS 로 공개만 하고 서명에는 쓰지 않아, 다른 서비스가 미리 키를 받아 둘 수 있다.
+ */
+public record JwtKey(
+        String kid,
+        SignatureAlgorithm algorithm,
+        PrivateKey privateKey,
+        PublicKey publicKey,
+        Instant activatesAt,
+        Instant expiresAt
+) {
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    public JwtKey {
+        if (!algorithm.isRsa() && !algorithm.isEllipticCurve()) {
+            throw new IllegalArgumentException("Asymmetric signature algorithm required: " + algorithm);
+        }
+    }
+
+    public static JwtKey generate(SignatureAlgorithm algorithm, Instant activatesAt, Instant expiresAt) {
+        KeyPair keyPair = Keys.keyPairFor(algorithm);
+        return new JwtKey(UUID.randomUUID().toString(), algorithm, keyPair.getPrivate(), keyPair.getPublic(), activatesAt, expiresAt);
+    }
+
+    // 저장된 PKCS#8 / X.509 인코딩에서 복원
+    public static JwtKey decode(String kid, String algorithm, String privateKey, String publicKey,
+                                Instant activatesAt, Instant expiresAt) {
+        try {
+            SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+            KeyFactory keyFactory = KeyFactory.getInstance(signatureAlgorithm.isRsa() ? "RSA" : "EC");
+            return new JwtKey(kid, signatureAlgorithm,
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKey))),
+                    keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(publicKey))),
+                    activatesAt, expiresAt);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot decode JWT signing key " + kid, e);
+        }
+    }
+
+    public String encodedPrivateKey() {
+        return Base64.getEncoder().encodeToString(privateKey.getEncoded());
+    }
+
+    public String encodedPublicKey() {
+        return Base64.getEncoder().encodeToString(publicKey.getEncoded());
+    }
+
+    public boolean isActive(Instant now) {
+        return !now.isBefore(activatesAt) && now.isBefore(expiresAt);
+    }
+
+    // RFC 7517 JWK (공개키만)
+    public Map<String, Object> toJwk() {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        if (publicKey instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", unsigned(rsa.getModulus(), (rsa.getModulus().bitLength() + 7) / 8));
+            jwk.put("e", unsigned(rsa.getPublicExponent(), (rsa.getPublicExponent().bitLength() + 7) / 8));
+        } else if (publicKey instanceof ECPublicKey ec) {
+            int fieldSize = ec.getParams().getCurve().getField().getFieldSize();
+            int length = (fieldSize + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-" + fieldSize);
+            jwk.put("x", unsigned(ec.getW().getAffineX(), length));
+            jwk.put("y", unsigned(ec.getW().getAffineY(), length));
+        }
+        return jwk;
+    }
+
+    // 부호 바이트 없이 고정 길이 big-endian
+    private static String unsigned(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] out = new byte[length];
+        int copy = Math.min(bytes.length, length);
+        System.arraycopy(bytes, bytes.length - copy, out, length - copy, copy);
+        return BASE64_URL.encodeToString(out);
+    }
+}
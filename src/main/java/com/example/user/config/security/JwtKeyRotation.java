@@ -0,0 +1,161 @@
+package com.example.user.config.security;
+
+import com.example.user.entity.JwtSigningKey;
+import com.example.user.repository.JwtSigningKeyRepository;
+import com.example.user.utility.DatabaseLeaderLock;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 서명 키를 주기적으로 교체한다.
+ * 새 키는 publish-ahead 만큼 먼저 JWKS 에 공개된 뒤 서명에 쓰이고,
+ * 교체된 키는 그 키로 서명한 토큰이 모두 만료될 때까지 검증용으로 남는다.
+ * 여러 인스턴스가 동시에 키를 만들지 않도록 생성은 DB lock 을 잡고 다시 읽은 뒤에만 한다.
+ */
+@Slf4j
+@Component
+public class JwtKeyRotation {
+    private static final Duration TOKEN_VALIDITY = Duration.ofMillis(JwtTokenProvider.VALIDITY_IN_MILLISECONDS);
+    private static final int LOCK_WAIT_SECONDS = 10;
+
+    private final JwtSigningKeyRepository jwtSigningKeyRepository;
+    private final JwtKeySet jwtKeySet;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource dataSource;
+    private final SignatureAlgorithm algorithm;
+    private final Duration rotationPeriod;
+    private final Duration publishAhead;
+
+    public JwtKeyRotation(JwtSigningKeyRepository jwtSigningKeyRepository,
+                          JwtKeySet jwtKeySet,
+                          TransactionTemplate transactionTemplate,
+                          DataSource dataSource,
+                          @Value("${jwt.signing.algorithm:ES256}") String algorithm,
+                          @Value("${jwt.signing.rotation-period:30d}") Duration rotationPeriod,
+                          @Value("${jwt.signing.publish-ahead:1h}") Duration publishAhead) {
+        this.jwtSigningKeyRepository = jwtSigningKeyRepository;
+        this.jwtKeySet = jwtKeySet;
+        this.transactionTemplate = transactionTemplate;
+        this.dataSource = dataSource;
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        this.rotationPeriod = rotationPeriod;
+        this.publishAhead = publishAhead;
+    }
+
+    // 첫 로그인 전에 서명 키가 있어야 하므로 초기화 시점에 읽는다
+    @PostConstruct
+    public void init() {
+        rotateIfNeeded();
+        jwtKeySet.setReloader(this::reload);
+    }
+
+    // 다른 인스턴스가 만든 키도 이 주기로 반영된다
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval-millis:300000}", initialDelayString = "${jwt.signing.refresh-interval-millis:300000}")
+    public void rotateIfNeeded() {
+        List<JwtKey> keys = loadKeys();
+        if (needsNewKey(keys, Instant.now())) {
+            // 처음 함께 뜬 인스턴스들이 각자 키를 만들어 서로의 토큰을 거절하지 않도록 한 인스턴스만 만든다
+            try (DatabaseLeaderLock lock = new DatabaseLeaderLock(dataSource, "jwt_signing_key_rotation")) {
+                if (lock.tryAcquire(LOCK_WAIT_SECONDS)) {
+                    keys = transactionTemplate.execute(status -> generateIfNeeded());
+                } else {
+                    // lock 을 쥔 인스턴스가 만든 키를 읽고, 그래도 서명 키가 없으면 (lock 을 쓸 수 없는 DB 등) 직접 만든다
+                    log.warn("Cannot take the JWT key rotation lock");
+                    keys = loadKeys();
+                    if (newestActivation(keys) == null) {
+                        keys = transactionTemplate.execute(status -> generateIfNeeded());
+                    }
+                }
+            }
+        }
+        jwtKeySet.replaceAll(keys);
+    }
+
+    // 모르는 kid 로 검증할 때 JwtKeySet 이 호출한다
+    public void reload() {
+        jwtKeySet.replaceAll(loadKeys());
+    }
+
+    private List<JwtKey> loadKeys() {
+        return transactionTemplate.execute(status -> jwtSigningKeyRepository.findByExpiresAtAfter(toLocal(Instant.now())).stream()
+                .map(JwtKeyRotation::toKey)
+                .toList());
+    }
+
+    // lock 을 잡은 뒤 다시 읽어, 그 사이 다른 인스턴스가 만든 키가 있으면 그대로 쓴다
+    private List<JwtKey> generateIfNeeded() {
+        Instant now = Instant.now();
+        List<JwtKey> keys = jwtSigningKeyRepository.findByExpiresAtAfter(toLocal(now)).stream()
+                .map(JwtKeyRotation::toKey)
+                .toList();
+        if (!needsNewKey(keys, now)) {
+            return keys;
+        }
+        Instant newestActivation = newestActivation(keys);
+        // 처음이면 바로 사용, 교체라면 publish-ahead 뒤부터 사용
+        Instant activatesAt = newestActivation == null ? now : now.plus(publishAhead);
+        Instant expiresAt = activatesAt.plus(rotationPeriod).plus(publishAhead).plus(TOKEN_VALIDITY);
+        JwtKey generated = JwtKey.generate(algorithm, activatesAt, expiresAt);
+        jwtSigningKeyRepository.save(toEntity(generated));
+        log.info("Generated {} JWT signing key {} active from {}", algorithm.getValue(), generated.kid(), activatesAt);
+        List<JwtKey> updated = new ArrayList<>(keys);
+        updated.add(generated);
+        return updated;
+    }
+
+    private boolean needsNewKey(List<JwtKey> keys, Instant now) {
+        Instant newestActivation = newestActivation(keys);
+        return newestActivation == null || !newestActivation.plus(rotationPeriod).isAfter(now.plus(publishAhead));
+    }
+
+    private Instant newestActivation(List<JwtKey> keys) {
+        return keys.stream()
+                .filter(key -> key.algorithm() == algorithm)
+                .map(JwtKey::activatesAt)
+                .max(Instant::compareTo)
+                .orElse(null);
+    }
+
+    @Scheduled(cron = "0 20 4 * * ?")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status -> jwtSigningKeyRepository.deleteExpired(LocalDateTime.now()));
+        log.info("Deleted {} expired JWT signing keys", deleted);
+    }
+
+    private static JwtKey toKey(JwtSigningKey entity) {
+        return JwtKey.decode(entity.getKid(), entity.getAlgorithm(), entity.getPrivateKey(), entity.getPublicKey(),
+                toInstant(entity.getActivatesAt()), toInstant(entity.getExpiresAt()));
+    }
+
+    private static JwtSigningKey toEntity(JwtKey key) {
+        return JwtSigningKey.builder()
+                .kid(key.kid())
+                .algorithm(key.algorithm().getValue())
+                .privateKey(key.encodedPrivateKey())
+                .publicKey(key.encodedPublicKey())
+                .activatesAt(toLocal(key.activatesAt()))
+                .expiresAt(toLocal(key.expiresAt()))
+                .build();
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
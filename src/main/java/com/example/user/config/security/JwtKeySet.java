@@ -0,0 +1,79 @@
+package com.example.user.config.security;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 서명 / 검증에 쓰는 키 목록 (메모리).
+ * 교체는 JwtKeyRotation 이 하고, 조회는 volatile snapshot 하나만 읽으므로 lock 이 없다.
+ * 모르는 kid 가 오면 다른 인스턴스가 방금 만든 키일 수 있으므로 DB 에서 다시 읽는다 (최소 간격 제한).
+ */
+@Component
+public class JwtKeySet {
+    // 임의의 kid 로 DB 조회를 반복시키지 못하도록 다시 읽는 간격을 제한
+    private static final long MIN_RELOAD_INTERVAL_MILLIS = 10_000;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), List.of(), Map.of("keys", List.of()));
+    private volatile Runnable reloader;
+    private final AtomicLong lastReloadAt = new AtomicLong();
+
+    private record Snapshot(Map<String, JwtKey> byKid, List<JwtKey> newestFirst, Map<String, Object> jwks) {
+    }
+
+    public void replaceAll(Collection<JwtKey> keys) {
+        List<JwtKey> newestFirst = keys.stream()
+                .sorted(Comparator.comparing(JwtKey::activatesAt).reversed())
+                .toList();
+        Map<String, JwtKey> byKid = newestFirst.stream()
+                .collect(Collectors.toUnmodifiableMap(JwtKey::kid, Function.identity()));
+        Map<String, Object> jwks = Map.of("keys", newestFirst.stream().map(JwtKey::toJwk).toList());
+        snapshot = new Snapshot(byKid, newestFirst, jwks);
+    }
+
+    // 서명에는 이미 활성화된 키 중 가장 최근 것을 쓴다
+    public JwtKey signingKey() {
+        Instant now = Instant.now();
+        for (JwtKey key : snapshot.newestFirst()) {
+            if (key.isActive(now)) {
+                return key;
+            }
+        }
+        throw new IllegalStateException("No active JWT signing key");
+    }
+
+    public JwtKey find(String kid) {
+        JwtKey key = snapshot.byKid().get(kid);
+        if (key == null && reloader != null && tryStartReload()) {
+            reloader.run();
+            key = snapshot.byKid().get(kid);
+        }
+        return key;
+    }
+
+    public void setReloader(Runnable reloader) {
+        this.reloader = reloader;
+    }
+
+    private boolean tryStartReload() {
+        long now = System.currentTimeMillis();
+        long last = lastReloadAt.get();
+        return now - last >= MIN_RELOAD_INTERVAL_MILLIS && lastReloadAt.compareAndSet(last, now);
+    }
+
+    public Collection<JwtKey> keys() {
+        return snapshot.newestFirst();
+    }
+
+    // /.well-known/jwks.json 응답 (키가 바뀔 때만 다시 만든다)
+    public Map<String, Object> jwks() {
+        return snapshot.jwks();
+    }
+}
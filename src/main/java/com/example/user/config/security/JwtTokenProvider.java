@@ -2,71 +2,189 @@ package com.example.user.config.security;
 
 import com.example.user.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * JWT 발급 / 검증.
+ * JwtKeySet 의 비대칭 키(기본 ES256)로 서명하고 header 에 kid 를 넣어, 다른 서비스가
+ * /.well-known/jwks.json 의 공개키만으로 직접 검증할 수 있게 한다.
+ * kid 가 없는 예전 HS256 토큰은 legacy secret 이 설정되어 있고 legacy-hs256-until 이전일 때만 받아준다.
+ */
 @Slf4j
 @Component
 public class JwtTokenProvider {
-    private final String secretKey = "mysecretkeyhavetomovedoutsideofcodeandhavetochangedtorandomstring";
-    private final long validityInMilliseconds = 90L * 24 * 60 * 60 * 1000; // 90일
+    static final long VALIDITY_IN_MILLISECONDS = 90L * 24 * 60 * 60 * 1000; // 90일
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtKeySet jwtKeySet;
+    private final Key legacyKey;
+    private final Instant legacyUntil;
+    private final boolean profileClaimsEnabled;
+    // JwtParser는 thread-safe 하므로 한 번만 만든다
+    private final JwtParser jwtParser;
+
+    public JwtTokenProvider(VerifiedTokenCache verifiedTokenCache,
+                            JwtKeySet jwtKeySet,
+                            @Value("${jwt.legacy-hs256-secret:}") String legacySecret,
+                            @Value("${jwt.legacy-hs256-until:}") String legacyUntil,
+                            @Value("${jwt.profile-claims.enabled:true}") boolean profileClaimsEnabled) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.profileClaimsEnabled = profileClaimsEnabled;
+        this.jwtKeySet = jwtKeySet;
+        // 예전 토큰은 secret 문자열을 base64 로 디코딩한 키로 서명되었다
+        this.legacyKey = legacySecret.isEmpty() ? null
+                : new SecretKeySpec(Decoders.BASE64.decode(legacySecret), SignatureAlgorithm.HS256.getJcaName());
+        // secret 이 남아 있어도 기한이 지나면 받지 않도록 기한을 반드시 함께 설정한다
+        if (legacyKey != null && legacyUntil.isEmpty()) {
+            throw new IllegalStateException("jwt.legacy-hs256-until is required when jwt.legacy-hs256-secret is set");
+        }
+        this.legacyUntil = legacyUntil.isEmpty() ? Instant.EPOCH : Instant.parse(legacyUntil);
+        this.jwtParser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return resolveKey(header);
+            }
+        }).build();
+    }
+
+    private Key resolveKey(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyKey != null && Instant.now().isBefore(legacyUntil)
+                    && SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+                return legacyKey;
+            }
+            throw new JwtException("Missing key id");
+        }
+        JwtKey key = jwtKeySet.find(kid);
+        // header 의 alg 만 믿고 다른 종류의 키로 검증하지 않도록 키에 저장된 알고리즘과 맞춰 본다
+        if (key == null || !key.algorithm().getValue().equals(header.getAlgorithm())) {
+            throw new JwtException("Unknown signing key: " + kid);
+        }
+        return key.publicKey();
+    }
 
     public String createToken(String username, Set<User.UserRole> roles, boolean deletionRequested) {
+        return createToken(username, roles, deletionRequested, null, 0);
+    }
+
+    /**
+     * nickname 이 있으면 프로필 snapshot(nickname, pv)을 함께 넣어 /self 같은 조회가 DB 를 거치지 않게 한다.
+     * pv 는 발급 시점의 프로필 버전으로, 이후 프로필이 바뀌면 snapshot 은 무시된다.
+     */
+    public String createToken(String username, Set<User.UserRole> roles, boolean deletionRequested,
+                              String nickname, long profileVersion) {
         Claims claims = Jwts.claims().setSubject(username);
         claims.put("roles", roles);
         claims.put("deletionRequested", deletionRequested);
+        if (profileClaimsEnabled && nickname != null) {
+            claims.put("nickname", nickname);
+            claims.put("pv", profileVersion);
+        }
         Date now = new Date();
-        Date validity = new Date(now.getTime() + validityInMilliseconds);
+        Date validity = new Date(now.getTime() + VALIDITY_IN_MILLISECONDS);
+        // iat 는 초 단위라 사용자 단위 무효화(TokenRevocationList.revokeAll)와 비교할 밀리초 발급 시각을 따로 넣는다
+        claims.put("iatMs", now.getTime());
+        JwtKey signingKey = jwtKeySet.signingKey();
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString()) // 로그아웃 시 이 토큰만 무효화하기 위한 jti
                 .setIssuedAt(now)
                 .setExpiration(validity)
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .signWith(signingKey.privateKey(), signingKey.algorithm())
                 .compact();
     }
 
-    public String getUsername(String token) {
-        return Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token).getBody().getSubject();
+    /**
+     * 토큰을 검증하고 claim을 한 번에 추출한다. 유효하지 않으면 null.
+     * 같은 토큰은 캐시에서 바로 반환되어 서명 검증과 JSON 파싱을 건너뛴다.
+     */
+    public VerifiedClaims verify(String token) {
+        return verifiedTokenCache.get(token, this::parse);
     }
 
-    public boolean validateToken(String token) {
+    private VerifiedClaims parse(String token) {
         try {
-            Jwts.parser().setSigningKey(secretKey).parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Jws<Claims> jws = jwtParser.parseClaimsJws(token);
+            return toVerifiedClaims(jws.getBody(), jws.getHeader().getKeyId() == null);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
 
     // JWT에서 권한 추출
     @SuppressWarnings("unchecked")
-    public List<GrantedAuthority> getAuthorities(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
+    private VerifiedClaims toVerifiedClaims(Claims claims, boolean legacy) {
         List<String> roles = (List<String>) claims.get("roles");
-
-        return roles.stream()
+        List<GrantedAuthority> authorities = roles == null ? List.of() : roles.stream()
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
+        Boolean deletionRequested = claims.get("deletionRequested", Boolean.class);
+        Number profileVersion = claims.get("pv", Number.class);
+        Number issuedAtMillis = claims.get("iatMs", Number.class);
+        Instant expiresAt = claims.getExpiration().toInstant();
+        // 예전 토큰은 기한이 지나면 캐시에서도 바로 빠지도록 만료를 기한으로 당긴다
+        if (legacy && expiresAt.isAfter(legacyUntil)) {
+            expiresAt = legacyUntil;
+        }
+
+        // jti 가 없는 예전 토큰은 사용자 단위 not-before 로만 무효화된다
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.getId(),
+                authorities,
+                Boolean.TRUE.equals(deletionRequested),
+                claims.get("nickname", String.class),
+                profileVersion == null ? 0 : profileVersion.longValue(),
+                issuedAtMillis != null ? Instant.ofEpochMilli(issuedAtMillis.longValue())
+                        : claims.getIssuedAt() == null ? Instant.EPOCH : claims.getIssuedAt().toInstant(),
+                expiresAt
+        );
+    }
+
+    private VerifiedClaims requireClaims(String token) {
+        VerifiedClaims claims = verify(token);
+        if (claims == null) {
+            throw new JwtException("Invalid JWT token");
+        }
+        return claims;
+    }
+
+    public String getUsername(String token) {
+        return requireClaims(token).username();
+    }
+
+    public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
+
+    public List<GrantedAuthority> getAuthorities(String token) {
+        return requireClaims(token).authorities();
     }
 
     public boolean isDeletionRequested(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("deletionRequested", Boolean.class); // deletionRequested 값을 boolean으로 읽음
+        return requireClaims(token).deletionRequested();
     }
 }
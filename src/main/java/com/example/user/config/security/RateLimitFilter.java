@@ -0,0 +1,57 @@
+package com.example.user.config.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// JwtAuthenticationFilter 다음에 실행: 인증된 요청은 사용자 id, 그 외(sign-up 등)는 IP 기준으로 제한
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RateLimiter.Rule rule = rateLimiter.ruleFor(request.getRequestURI());
+        if (rule != null) {
+            long waitNanos = rateLimiter.tryAcquire(rule, clientKey(request));
+            if (waitNanos > 0) {
+                long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+                response.setContentType("text/plain;charset=UTF-8");
+                response.getWriter().write("Error: Too many requests");
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // 프록시 뒤라면 server.forward-headers-strategy 로 remoteAddr 가 실제 client 가 되도록 설정
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated() && authentication instanceof JwtAuthenticationToken) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/ws") ||
+                path.startsWith("/socket") ||
+                path.startsWith("/actuator");
+    }
+}
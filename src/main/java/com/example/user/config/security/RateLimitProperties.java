@@ -0,0 +1,32 @@
+package com.example.user.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * security.rate-limit 설정.
+ * policies 는 위에서부터 path prefix 가 처음 맞는 것을 쓴다. (마지막에 "/" 로 기본 정책)
+ */
+@ConfigurationProperties("security.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maximumKeys,
+        List<Policy> policies
+) {
+    public RateLimitProperties {
+        policies = policies == null ? List.of() : List.copyOf(policies);
+    }
+
+    // perSecond 로 꾸준히 채워지고 최대 burst 개까지 한 번에 쓸 수 있는 bucket
+    public record Policy(
+            String name,
+            List<String> paths,
+            double perSecond,
+            int burst
+    ) {
+    }
+}
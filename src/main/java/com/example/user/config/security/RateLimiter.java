@@ -0,0 +1,107 @@
+package com.example.user.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * client + 정책 별 token bucket.
+ * bucket 상태는 "다음 요청이 이론상 허용되는 시각"(GCRA) 하나뿐이라 AtomicLong CAS 로 lock 없이 갱신한다.
+ * 한동안 요청이 없는 client 는 idle-timeout 뒤 Caffeine 이 제거한다.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+    private final List<Rule> rules;
+    private final Cache<Key, AtomicLong> buckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rules = new ArrayList<>();
+        for (RateLimitProperties.Policy policy : properties.policies()) {
+            rules.add(new Rule(policy, meterRegistry));
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maximumKeys())
+                .expireAfterAccess(properties.idleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    // 경로에 맞는 정책, 없으면 null (제한 없음)
+    public Rule ruleFor(String path) {
+        for (Rule rule : rules) {
+            if (rule.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 허용되면 0, 거절되면 다시 시도할 수 있을 때까지 남은 nanos.
+     */
+    public long tryAcquire(Rule rule, String client) {
+        long now = System.nanoTime();
+        AtomicLong theoreticalArrival = buckets.get(new Key(rule.name, client), key -> new AtomicLong(now));
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, now) + rule.emissionIntervalNanos;
+            long wait = next - now - rule.burstToleranceNanos;
+            if (wait > 0) {
+                rule.rejected.increment();
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private record Key(String policy, String client) {
+    }
+
+    public static final class Rule {
+        private final String name;
+        private final String[] prefixes;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final Counter rejected;
+
+        Rule(RateLimitProperties.Policy policy, MeterRegistry meterRegistry) {
+            if (policy.perSecond() <= 0 || policy.burst() < 1) {
+                throw new IllegalArgumentException("Invalid rate limit policy: " + policy.name());
+            }
+            this.name = policy.name();
+            this.prefixes = policy.paths().toArray(String[]::new);
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / policy.perSecond());
+            this.burstToleranceNanos = emissionIntervalNanos * policy.burst();
+            this.rejected = Counter.builder("security.rate-limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("policy", policy.name())
+                    .register(meterRegistry);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        private boolean matches(String path) {
+            for (String prefix : prefixes) {
+                if (path.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.user.config.security;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -12,6 +13,8 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -20,20 +23,38 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     private final String urlPrefix = "/api/v1/waiting-room";
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+    private final RateLimiter rateLimiter;
+    private final boolean rateLimitEnabled;
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider) {
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, TokenRevocationList tokenRevocationList,
+                          RateLimiter rateLimiter, RateLimitProperties rateLimitProperties) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationList = tokenRevocationList;
+        this.rateLimiter = rateLimiter;
+        this.rateLimitEnabled = rateLimitProperties.enabled();
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtTokenProvider, tokenRevocationList) {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                String path = request.getRequestURI();
+                return path.startsWith("/ws") ||
+                        path.startsWith("/socket") ||
+                        path.startsWith("/api/v1/users/sign-in");
+            }
+        };
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
@@ -54,19 +75,16 @@ public class SecurityConfig {
                                     "/game",
                                     "/game/**",
                                     "/api/v1/users/study",
-                                    "/api/v1/users/study/**"
+                                    "/api/v1/users/study/**",
+                                    "/.well-known/jwks.json"
                             ).permitAll()
                             .anyRequest().authenticated();
                 })
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider) {
-                    @Override
-                    protected boolean shouldNotFilter(HttpServletRequest request) {
-                        String path = request.getRequestURI();
-                        return path.startsWith("/ws") ||
-                                path.startsWith("/socket") ||
-                                path.startsWith("/api/v1/users/sign-in");
-                    }
-                }, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        if (rateLimitEnabled) {
+            // 인증 결과(사용자 id)를 key 로 쓰므로 JWT 필터 바로 다음
+            http.addFilterAfter(new RateLimitFilter(rateLimiter), jwtAuthenticationFilter.getClass());
+        }
         return http.build();
     }
 
@@ -99,8 +117,21 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.encoding-id:bcrypt}") String encodingId,
+                                           @Value("${security.password.bcrypt-strength:10}") int bcryptStrength) {
+        return createPasswordEncoder(encodingId, bcryptStrength);
+    }
+
+    // 새 해시는 encodingId 로 "{id}..." 형태로 저장하고, 접두어 없는 기존 BCrypt 해시도 그대로 검증한다.
+    // upgradeEncoding() 이 true 인 해시는 로그인 성공 시 다시 해싱된다.
+    static PasswordEncoder createPasswordEncoder(String encodingId, int bcryptStrength) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encodingId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 
     @Bean
@@ -0,0 +1,153 @@
+package com.example.user.config.security;
+
+import com.example.user.entity.TokenRevocation;
+import com.example.user.repository.TokenRevocationRepository;
+import com.example.user.utility.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그아웃 / 탈퇴로 무효화된 토큰 목록.
+ * 검사는 메모리 map 조회 두 번으로 끝나고, 변경은 DB 에 남겨 재시작 / 다른 인스턴스에도 반영된다.
+ * - jti 단위: 로그아웃한 토큰 하나
+ * - 사용자 단위 not-before: 그 시각 이전에 발급된 모든 토큰 (탈퇴, jti 가 없는 예전 토큰의 로그아웃).
+ *   무효화 직후 다시 로그인한 토큰이 같은 초에 발급돼도 살아 있도록 밀리초 단위로 비교한다
+ * - 사용자 단위 프로필 버전: 토큰의 pv 가 이보다 낮으면 토큰 안의 프로필 snapshot 만 무시 (토큰은 유효)
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+    private static final String TOKEN_PREFIX = "t:";
+    private static final String USER_PREFIX = "u:";
+    private static final String PROFILE_PREFIX = "p:";
+    private static final long VALIDITY_SECONDS = TimeUnit.MILLISECONDS.toSeconds(JwtTokenProvider.VALIDITY_IN_MILLISECONDS);
+    private static final long VALIDITY_MILLIS = JwtTokenProvider.VALIDITY_IN_MILLISECONDS;
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    // jti -> 토큰 만료 시각 (epoch seconds)
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // userId -> 이 시각 (epoch millis) 이전에 발급된 토큰은 무효
+    private final ConcurrentHashMap<String, Long> notBefore = new ConcurrentHashMap<>();
+    // userId -> 마지막 프로필 변경 버전 (epoch seconds, 사용자별로 증가). 없으면 0
+    private final ConcurrentHashMap<String, Long> profileVersions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationList(TokenRevocationRepository tokenRevocationRepository) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+    }
+
+    // 요청을 받기 전에 채워져 있어야 하므로 ApplicationReadyEvent 가 아닌 초기화 시점에 읽는다
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TokenRevocation> rows = tokenRevocationRepository.findByExpiresAtAfter(now);
+        rows.forEach(this::apply);
+        lastSync = now;
+        log.info("Loaded {} token revocations", rows.size());
+    }
+
+    public boolean isRevoked(VerifiedClaims claims) {
+        if (claims.tokenId() != null && revokedTokens.containsKey(claims.tokenId())) {
+            return true;
+        }
+        Long userNotBefore = notBefore.get(claims.username());
+        return userNotBefore != null && claims.issuedAt().toEpochMilli() < userNotBefore;
+    }
+
+    public long profileVersion(String userId) {
+        return profileVersions.getOrDefault(userId, 0L);
+    }
+
+    // 토큰의 프로필 snapshot 이 마지막 프로필 변경 이후에 만들어졌는지
+    public boolean isProfileCurrent(VerifiedClaims claims) {
+        Long version = profileVersions.get(claims.username());
+        return version == null || claims.profileVersion() >= version;
+    }
+
+    // 같은 초에 두 번 바뀌어도 버전이 겹치지 않도록 항상 이전 값보다 크게
+    public void bumpProfileVersion(String userId) {
+        long version = Math.max(Instant.now().getEpochSecond(), profileVersion(userId) + 1);
+        TokenRevocation revocation = tokenRevocationRepository.save(TokenRevocation.builder()
+                .id(PROFILE_PREFIX + userId)
+                .notBefore(toLocal(version))
+                .expiresAt(toLocal(version + VALIDITY_SECONDS))
+                .build());
+        AfterCommit.run(() -> apply(revocation));
+    }
+
+    // 호출한 쪽 트랜잭션이 있으면 함께 커밋된 뒤 메모리에 반영
+    public void revoke(VerifiedClaims claims) {
+        if (claims.tokenId() == null) {
+            revokeAll(claims.username());
+            return;
+        }
+        TokenRevocation revocation = tokenRevocationRepository.save(TokenRevocation.builder()
+                .id(TOKEN_PREFIX + claims.tokenId())
+                .expiresAt(toLocal(claims.expiresAt().getEpochSecond()))
+                .build());
+        AfterCommit.run(() -> apply(revocation));
+    }
+
+    // 지금까지 발급된 토큰을 모두 무효로 한다 (토큰의 iatMs 와 밀리초 단위로 비교)
+    public void revokeAll(String userId) {
+        Instant now = Instant.now();
+        TokenRevocation revocation = tokenRevocationRepository.save(TokenRevocation.builder()
+                .id(USER_PREFIX + userId)
+                .notBefore(LocalDateTime.ofInstant(now, ZoneId.systemDefault()))
+                .expiresAt(toLocal(now.getEpochSecond() + VALIDITY_SECONDS + 1))
+                .build());
+        AfterCommit.run(() -> apply(revocation));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-millis:30000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // 커밋이 늦은 행을 놓치지 않도록 조금 겹쳐서 읽는다
+        tokenRevocationRepository.findByUpdatedAtAfter(lastSync.minusSeconds(10)).forEach(this::apply);
+        lastSync = now;
+    }
+
+    @Scheduled(cron = "0 10 * * * ?")
+    @Transactional
+    public void prune() {
+        long now = Instant.now().getEpochSecond();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        notBefore.values().removeIf(userNotBefore -> userNotBefore + VALIDITY_MILLIS < now * 1000);
+        profileVersions.values().removeIf(version -> version + VALIDITY_SECONDS < now);
+        int deleted = tokenRevocationRepository.deleteExpired(LocalDateTime.now());
+        log.info("Pruned {} expired token revocations", deleted);
+    }
+
+    private void apply(TokenRevocation revocation) {
+        String id = revocation.getId();
+        if (id.startsWith(TOKEN_PREFIX)) {
+            revokedTokens.put(id.substring(TOKEN_PREFIX.length()), toEpochSecond(revocation.getExpiresAt()));
+        } else if (id.startsWith(USER_PREFIX) && revocation.getNotBefore() != null) {
+            notBefore.merge(id.substring(USER_PREFIX.length()), toEpochMilli(revocation.getNotBefore()), Math::max);
+        } else if (id.startsWith(PROFILE_PREFIX) && revocation.getNotBefore() != null) {
+            profileVersions.merge(id.substring(PROFILE_PREFIX.length()), toEpochSecond(revocation.getNotBefore()), Math::max);
+        }
+    }
+
+    private static LocalDateTime toLocal(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.user.config.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 서명 검증이 끝난 JWT의 claim 묶음 (불변).
+ * 한 번 파싱한 결과를 필터와 서비스가 함께 사용한다.
+ */
+public record VerifiedClaims(
+        String username,
+        String tokenId,
+        List<GrantedAuthority> authorities,
+        boolean deletionRequested,
+        String nickname,
+        long profileVersion,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public VerifiedClaims {
+        authorities = List.copyOf(authorities);
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.user.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * 검증된 토큰 캐시.
+ * 토큰 원문 대신 SHA-256 해시를 key로 사용하고, 토큰 만료 시각과 max-ttl 중 빠른 시점에 제거된다.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final Base64.Encoder KEY_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final Cache<String, VerifiedClaims> cache;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${jwt.cache.max-ttl:10m}") Duration maxTtl) {
+        long maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedClaims claims, long currentTime) {
+                        long untilExpiry = Duration.between(Instant.now(), claims.expiresAt()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, claims, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    // verifier가 null을 반환하면(검증 실패) 캐시하지 않는다
+    public VerifiedClaims get(String token, Function<String, VerifiedClaims> verifier) {
+        return cache.get(keyOf(token), key -> verifier.apply(token));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static String keyOf(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return KEY_ENCODER.encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
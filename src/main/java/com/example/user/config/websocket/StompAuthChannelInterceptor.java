@@ -0,0 +1,81 @@
+package com.example.user.config.websocket;
+
+import com.example.user.config.security.JwtAuthenticationToken;
+import com.example.user.config.security.JwtTokenProvider;
+import com.example.user.config.security.TokenRevocationList;
+import com.example.user.config.security.VerifiedClaims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * STOMP CONNECT 의 Authorization 헤더로 사용자를 인증하고,
+ * 구독은 인증된 연결에서 패턴 없는 목적지만 허용하고, /topic/users/{userId}/** 는 본인만 가능하도록 막는다.
+ * 클라이언트의 SEND 는 /app/** 로만 받는다 (/topic 으로 직접 보내면 broker 가 그대로 다른 사용자에게 전달한다).
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+    private static final String USER_TOPIC_PREFIX = "/topic/users/";
+    private static final String APPLICATION_PREFIX = "/app/";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            // 유효하고 무효화되지 않은 토큰이 없으면 연결 자체를 거절
+            VerifiedClaims claims = resolveClaims(accessor.getFirstNativeHeader("Authorization"));
+            if (claims == null) {
+                throw new MessagingException("Unauthenticated STOMP connection");
+            }
+            accessor.setUser(new JwtAuthenticationToken(claims.username(), claims.authorities()));
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            Principal user = accessor.getUser();
+            // simple broker 는 Ant 패턴 구독을 허용하므로 /topic/** 같은 구독으로 다른 사용자 이벤트를 받지 못하게 막는다
+            if (destination == null || user == null || containsPattern(destination)) {
+                throw new MessagingException("Cannot subscribe to " + destination);
+            }
+            if (destination.startsWith(USER_TOPIC_PREFIX)) {
+                String owner = destination.substring(USER_TOPIC_PREFIX.length()).split("/", 2)[0];
+                if (!user.getName().equals(owner)) {
+                    throw new MessagingException("Cannot subscribe to " + destination);
+                }
+            }
+        } else if (StompCommand.SEND.equals(accessor.getCommand())) {
+            String destination = accessor.getDestination();
+            // 친구 / 접속 상태 이벤트를 다른 사용자 이름으로 위조하지 못하도록 broker 목적지로의 전송은 막는다
+            if (destination == null || accessor.getUser() == null || !destination.startsWith(APPLICATION_PREFIX)) {
+                throw new MessagingException("Cannot send to " + destination);
+            }
+        }
+        return message;
+    }
+
+    private VerifiedClaims resolveClaims(String bearerToken) {
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            return null;
+        }
+        VerifiedClaims claims = jwtTokenProvider.verify(bearerToken.substring(7));
+        return claims == null || tokenRevocationList.isRevoked(claims) ? null : claims;
+    }
+
+    private static boolean containsPattern(String destination) {
+        return destination.indexOf('*') >= 0 || destination.indexOf('?') >= 0 || destination.indexOf('{') >= 0;
+    }
+}
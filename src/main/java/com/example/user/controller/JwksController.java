@@ -0,0 +1,26 @@
+package com.example.user.controller;
+
+import com.example.user.config.security.JwtKeySet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 다른 서비스가 받아서 캐시해 두고 JWT 를 직접 검증하는 공개키 목록
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+    private final JwtKeySet jwtKeySet;
+
+    // 새 키는 publish-ahead 동안 미리 공개되므로 그보다 짧게 캐시하면 된다
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeySet.jwks());
+    }
+}
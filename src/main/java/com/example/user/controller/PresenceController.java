@@ -0,0 +1,19 @@
+package com.example.user.controller;
+
+import com.example.user.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class PresenceController {
+    private final PresenceService presenceService;
+
+    // 클라이언트는 session-timeout 보다 짧은 주기로 /app/presence/heartbeat 로 전송
+    @MessageMapping("/presence/heartbeat")
+    public void heartbeat(SimpMessageHeaderAccessor accessor) {
+        presenceService.heartbeat(accessor.getSessionId(), accessor.getUser());
+    }
+}
@@ -34,6 +34,10 @@ public class UserController {
     public String signIn(@RequestBody UserSigninDTO user) {
         return userService.signIn(user);
     }
+    @PostMapping("/logout")
+    public String logout(Authentication authentication) {
+        return userService.logout(authentication);
+    }
     @GetMapping("/self")
     public UserNameDTO self(Authentication authentication, HttpServletRequest request, HttpServletResponse response) {
         return userService.self(authentication, request, response);
@@ -86,10 +90,42 @@ public class UserController {
         return userService.getUserFromString(userId, username);
     }
 
+    @GetMapping("/search")
+    public List<FriendDTO> searchUsers(Authentication authentication,
+                                       @RequestParam("q") String query,
+                                       @RequestParam(name = "size", defaultValue = "10") int size) {
+        String userId = authentication.getName();
+        return userService.searchUsers(userId, query, size);
+    }
+
+    @PostMapping("/friend-statuses")
+    public List<FriendDTO> friendStatuses(Authentication authentication, @RequestBody Map<String, List<String>> request) {
+        String userId = authentication.getName();
+        return userService.friendStatuses(userId, request.get("userIds"));
+    }
+
     @GetMapping("/friends")
-    public List<FriendDTO> friends(Authentication authentication) {
+    public List<FriendDTO> friends(Authentication authentication,
+                                   @RequestParam(name = "after", required = false) String after,
+                                   @RequestParam(name = "size", required = false) Integer size) {
+        String userId = authentication.getName();
+        return userService.friends(userId, after, size);
+    }
+    @GetMapping("/friends/online")
+    public List<UserNameDTO> onlineFriends(Authentication authentication) {
+        String userId = authentication.getName();
+        return userService.onlineFriends(userId);
+    }
+    @GetMapping("/friends/suggestions")
+    public List<FriendSuggestionDTO> friendSuggestions(Authentication authentication,
+                                                       @RequestParam(name = "size", defaultValue = "10") int size) {
+        String userId = authentication.getName();
+        return userService.friendSuggestions(userId, size);
+    }
+    @GetMapping("/friends/{otherId}/mutual")
+    public List<UserNameDTO> mutualFriends(Authentication authentication, @PathVariable String otherId) {
         String userId = authentication.getName();
-        return userService.friends(userId);
+        return userService.mutualFriends(userId, otherId);
     }
     @PostMapping("/friends")
     public FriendDTO requestNewFriend(Authentication authentication, @RequestBody Map<String, String> request) {
@@ -98,9 +134,11 @@ public class UserController {
         return userService.requestNewFriend(userId, friendId);
     }
     @GetMapping("/friend-requests")
-    public List<FriendDTO> friendRequests(Authentication authentication, @RequestParam(name = "send", required = false) boolean isSend) {
+    public List<FriendDTO> friendRequests(Authentication authentication, @RequestParam(name = "send", required = false) boolean isSend,
+                                          @RequestParam(name = "after", required = false) String after,
+                                          @RequestParam(name = "size", required = false) Integer size) {
         String userId = authentication.getName();
-        return userService.friendRequests(userId, isSend);
+        return userService.friendRequests(userId, isSend, after, size);
     }
     @PostMapping("/friend-requests")
     public UserNameDTO acceptFriend(Authentication authentication, @RequestBody Map<String, String> request) {
@@ -0,0 +1,12 @@
+package com.example.user.dto;
+
+import com.example.user.entity.Friend;
+
+public record FriendEdgeDTO(
+        String userId,
+        String userNickname,
+        String friendId,
+        String friendNickname,
+        Friend.Status status
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.user.dto;
+
+public record FriendEventDTO(
+        Type type,
+        String userId,
+        String nickname,
+        long occurredAt
+) {
+    public enum Type {
+        REQUEST_RECEIVED, REQUEST_ACCEPTED, REQUEST_REMOVED, FRIEND_REMOVED, NICKNAME_CHANGED
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.user.dto;
+
+public record FriendSuggestionDTO(
+        String id,
+        String nickname,
+        int mutualFriends
+) {
+    // JPQL COUNT 는 long 으로 넘어온다
+    public FriendSuggestionDTO(String id, String nickname, long mutualFriends) {
+        this(id, nickname, (int) mutualFriends);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.user.dto;
+
+/**
+ * 게임 서비스가 발행하는 게임 결과 중 한 사용자 몫.
+ * eventId 는 재전송돼도 같은 값이어야 한다 (포인트 중복 반영 방지).
+ */
+public record GameResultEvent(
+        String eventId,
+        String gameId,
+        String userId,
+        int point
+) {
+}
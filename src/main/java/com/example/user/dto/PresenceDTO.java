@@ -0,0 +1,8 @@
+package com.example.user.dto;
+
+public record PresenceDTO(
+        String userId,
+        boolean online,
+        long changedAt
+) {
+}
@@ -0,0 +1,54 @@
+package com.example.user.dto;
+
+/**
+ * 다른 서비스로 내보내는 사용자 변경 이벤트. (User 엔티티 대신 필요한 값만)
+ * data 는 이벤트 종류에 따라 닉네임, 상대 사용자 id, 포인트 등 하나의 값이다.
+ */
+public record UserEvent(
+        long eventId,
+        Type type,
+        String userId,
+        String data,
+        long occurredAt
+) {
+    // code 는 직렬화 포맷에 그대로 들어가므로 기존 값을 바꾸지 말고 새 값만 추가
+    public enum Type {
+        SIGNED_UP(1),
+        PROFILE_UPDATED(2),
+        WITHDRAWAL_REQUESTED(3),
+        WITHDRAWAL_CANCELLED(4),
+        ACCOUNT_DELETED(5),
+        POINT_CHANGED(6),
+        FRIEND_REQUESTED(7),
+        FRIEND_ACCEPTED(8),
+        FRIEND_REQUEST_REMOVED(9),
+        FRIEND_REMOVED(10),
+        WAITING_ROOM_JOINED(11);
+
+        private static final Type[] BY_CODE = new Type[12];
+
+        static {
+            for (Type type : values()) {
+                BY_CODE[type.code] = type;
+            }
+        }
+
+        private final int code;
+
+        Type(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+
+        public static Type fromCode(int code) {
+            Type type = code > 0 && code < BY_CODE.length ? BY_CODE[code] : null;
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown user event type: " + code);
+            }
+            return type;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// JWT 서명 키. 여러 인스턴스가 같은 키로 서명 / 공개하도록 DB 에 둔다
+@Entity
+@Table(name = "jwt_signing_key")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+    @Id
+    private String kid;
+
+    @Column(nullable = false)
+    private String algorithm;
+
+    // PKCS#8 base64
+    @Column(name = "private_key", nullable = false, length = 4096)
+    private String privateKey;
+
+    // X.509 base64
+    @Column(name = "public_key", nullable = false, length = 2048)
+    private String publicKey;
+
+    @Column(name = "activates_at", nullable = false)
+    private LocalDateTime activatesAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @CreationTimestamp
+    @Column(updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+}
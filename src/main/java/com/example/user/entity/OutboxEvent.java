@@ -0,0 +1,48 @@
+package com.example.user.entity;
+
+import com.example.user.dto.UserEvent;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 상태 변경과 같은 트랜잭션에서 기록되고 OutboxRelay 가 Kafka 로 발행한다
+@Entity
+@Table(name = "user_event_outbox", indexes = {
+        @Index(name = "idx_outbox_published_at", columnList = "published_at, id")
+})
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private UserEvent.Type type;
+
+    private String data;
+
+    @CreationTimestamp
+    @Column(updatable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    public UserEvent toEvent() {
+        long occurredAt = createdAt == null ? System.currentTimeMillis()
+                : createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new UserEvent(id, type, userId, data, occurredAt);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// 이미 포인트에 반영한 게임 결과 이벤트 id (중복 소비 방지)
+@Entity
+@Table(name = "processed_point_event", indexes = {
+        @Index(name = "idx_processed_point_event_processed_at", columnList = "processed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedPointEvent {
+    @Id
+    @Column(name = "event_id")
+    private String eventId;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
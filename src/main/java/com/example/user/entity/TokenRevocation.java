@@ -0,0 +1,39 @@
+package com.example.user.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 무효화된 토큰 기록.
+ * id 가 "t:{jti}" 면 토큰 하나, "u:{userId}" 면 notBefore 이전에 발급된 그 사용자의 모든 토큰,
+ * "p:{userId}" 면 notBefore 가 그 사용자의 프로필 버전 (토큰 안 프로필 snapshot 무효화).
+ * expiresAt 이 지나면 해당 토큰들도 이미 만료되었으므로 지운다.
+ */
+@Entity
+@Table(name = "token_revocation", indexes = {
+        @Index(name = "idx_token_revocation_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_token_revocation_updated_at", columnList = "updated_at")
+})
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+    @Id
+    private String id;
+
+    // "u:" 행은 밀리초까지 비교하므로 컬럼은 소수 초를 보존해야 한다 (DATETIME(3) 이상)
+    @Column(name = "not_before")
+    private LocalDateTime notBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
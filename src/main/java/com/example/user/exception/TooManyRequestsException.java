@@ -0,0 +1,19 @@
+package com.example.user.exception;
+
+// 서버 자원이 포화 상태일 때 빠르게 거절 (HTTP 429)
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message) {
+        this(message, 1);
+    }
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
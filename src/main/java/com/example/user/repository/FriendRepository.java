@@ -1,13 +1,24 @@
 package com.example.user.repository;
 
+import com.example.user.dto.FriendDTO;
+import com.example.user.dto.FriendEdgeDTO;
+import com.example.user.dto.FriendSuggestionDTO;
+import com.example.user.dto.UserNameDTO;
 import com.example.user.entity.Friend;
 import com.example.user.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FriendRepository extends JpaRepository<Friend, Long> {
@@ -25,6 +36,68 @@ public interface FriendRepository extends JpaRepository<Friend, Long> {
 
     List<Friend> getFriendsByFriendAndStatus(User user, Friend.Status status);
 
+    @Query("SELECT f.status FROM Friend f WHERE f.user.id = :userId AND f.friend.id = :friendId")
+    Optional<Friend.Status> findStatusByUserIdAndFriendId(@Param("userId") String userId, @Param("friendId") String friendId);
+
+    // 목록 조회는 join 한 번으로 FriendDTO를 바로 만든다 (연관 엔티티 lazy loading 없음)
+    // after: keyset pagination 기준 id (이전 페이지의 마지막 id), null 이면 처음부터
+    @Query("SELECT new com.example.user.dto.FriendDTO(fr.id, fr.nickname, f.status) " +
+            "FROM Friend f JOIN f.friend fr " +
+            "WHERE f.user.id = :userId AND f.status = :status AND (:after IS NULL OR fr.id > :after) " +
+            "ORDER BY fr.id")
+    List<FriendDTO> findSentFriendDTOs(@Param("userId") String userId,
+                                       @Param("status") Friend.Status status,
+                                       @Param("after") String after,
+                                       Pageable pageable);
+
+    @Query("SELECT new com.example.user.dto.FriendDTO(u.id, u.nickname, f.status) " +
+            "FROM Friend f JOIN f.user u " +
+            "WHERE f.friend.id = :userId AND f.status = :status AND (:after IS NULL OR u.id > :after) " +
+            "ORDER BY u.id")
+    List<FriendDTO> findReceivedFriendDTOs(@Param("userId") String userId,
+                                           @Param("status") Friend.Status status,
+                                           @Param("after") String after,
+                                           Pageable pageable);
+
+    // ids 각각이 userId 에게 보낸 관계 (getUserFromString 과 같은 방향)
+    @Query("SELECT new com.example.user.dto.FriendDTO(u.id, u.nickname, f.status) " +
+            "FROM Friend f JOIN f.user u " +
+            "WHERE f.friend.id = :userId AND u.id IN :ids")
+    List<FriendDTO> findStatusesTowards(@Param("userId") String userId, @Param("ids") Collection<String> ids);
+
+    // 친구 그래프를 쓰지 않을 때의 공통 친구 조회 (친구 관계는 양방향으로 저장된다)
+    @Query("SELECT new com.example.user.dto.UserNameDTO(m.id, m.nickname) " +
+            "FROM Friend a JOIN a.friend m, Friend b " +
+            "WHERE a.user.id = :userId AND a.status = :status " +
+            "AND b.user.id = :otherId AND b.friend = m AND b.status = :status " +
+            "ORDER BY m.id")
+    List<UserNameDTO> findMutualFriends(@Param("userId") String userId,
+                                        @Param("otherId") String otherId,
+                                        @Param("status") Friend.Status status,
+                                        Pageable pageable);
+
+    // 친구 그래프를 쓰지 않을 때의 친구의 친구 추천: 이미 친구이거나 요청이 오간 사용자는 제외하고 공통 친구 수 순
+    @Query("SELECT new com.example.user.dto.FriendSuggestionDTO(c.id, c.nickname, COUNT(c.id)) " +
+            "FROM Friend a JOIN a.friend m, Friend b JOIN b.friend c " +
+            "WHERE a.user.id = :userId AND a.status = :status " +
+            "AND b.user = m AND b.status = :status AND c.id <> :userId " +
+            "AND NOT EXISTS (SELECT x.id FROM Friend x " +
+            "WHERE (x.user.id = :userId AND x.friend = c) OR (x.user = c AND x.friend.id = :userId)) " +
+            "GROUP BY c.id, c.nickname " +
+            "ORDER BY COUNT(c.id) DESC, c.id")
+    List<FriendSuggestionDTO> findSuggestions(@Param("userId") String userId,
+                                              @Param("status") Friend.Status status,
+                                              Pageable pageable);
+
+    @Query("SELECT new com.example.user.dto.FriendEdgeDTO(u.id, u.nickname, fr.id, fr.nickname, f.status) " +
+            "FROM Friend f JOIN f.user u JOIN f.friend fr")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<FriendEdgeDTO> streamAllEdges();
+
+    @Modifying
+    @Query("DELETE FROM Friend f WHERE f.user.id IN :ids OR f.friend.id IN :ids")
+    int deleteAllByUserIdsOrFriendIds(@Param("ids") Collection<String> ids);
+
     @Query("SELECT u.nickname FROM User u WHERE u.id = :userId")
     Optional<String> getNicknameByUserId(String userId);
 }
@@ -0,0 +1,42 @@
+package com.example.user.repository;
+
+import com.example.user.dto.UserEvent;
+import com.example.user.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    // relay 는 leader 하나만 돌지만, leader 가 바뀌는 순간 이전 leader 의 batch 를 건너뛰지 않도록
+    // SKIP LOCKED 없이 기다린다 (건너뛰면 뒤 이벤트가 먼저 나가 사용자별 순서가 깨진다)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    // 다른 인스턴스의 변경을 따라가기 위한 조회 (발행 여부와 무관)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id > :afterId AND e.type IN :types ORDER BY e.id")
+    List<OutboxEvent> findByTypeAfter(@Param("afterId") long afterId,
+                                      @Param("types") Collection<UserEvent.Type> types,
+                                      Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OutboxEvent e WHERE e.createdAt < :before")
+    long findMaxIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,23 @@
+package com.example.user.repository;
+
+import com.example.user.entity.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    // 다른 인스턴스가 기록한 항목을 주기적으로 가져온다
+    List<TokenRevocation> findByUpdatedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
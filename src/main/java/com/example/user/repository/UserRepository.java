@@ -1,16 +1,23 @@
 package com.example.user.repository;
 
+import com.example.user.dto.ProfileDTO;
+import com.example.user.dto.UserNameDTO;
 import com.example.user.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
@@ -24,5 +31,51 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     boolean existsByNickname(String nickname);
 
-    List<User> findAllByDeleteRequestAtBefore(LocalDateTime deleteRequestAtBefore);
+    // 그 사이 비밀번호가 바뀌었다면 덮어쓰지 않는다
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePassword(@Param("id") String id,
+                       @Param("oldPassword") String oldPassword,
+                       @Param("password") String password);
+
+    @Query("SELECT u.id FROM User u WHERE u.deleteRequestAt < :threshold ORDER BY u.id")
+    List<String> findIdsByDeleteRequestAtBefore(@Param("threshold") LocalDateTime threshold, Pageable pageable);
+
+    // roles 는 @ElementCollection 이라 JPQL bulk delete 로 지워지지 않는다
+    @Modifying
+    @Query(value = "DELETE FROM user_roles WHERE user_id IN (:ids)", nativeQuery = true)
+    int deleteRolesByUserIds(@Param("ids") Collection<String> ids);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<String> ids);
+
+    // 조회 전용 projection: 필요한 컬럼만 읽고 roles 컬렉션이나 영속성 컨텍스트를 거치지 않는다
+    @Query("SELECT new com.example.user.dto.ProfileDTO(u.id, u.nickname, u.point) FROM User u WHERE u.id = :id")
+    Optional<ProfileDTO> findProfileById(@Param("id") String id);
+
+    @Query("SELECT new com.example.user.dto.UserNameDTO(u.id, u.nickname) FROM User u WHERE u.id = :id")
+    Optional<UserNameDTO> findUserNameById(@Param("id") String id);
+
+    @Query("SELECT new com.example.user.dto.UserNameDTO(u.id, u.nickname) FROM User u WHERE u.nickname = :nickname")
+    Optional<UserNameDTO> findUserNameByNickname(@Param("nickname") String nickname);
+
+    // 검색 인덱스 적재 전에 쓰는 prefix 검색 (pattern 의 % / _ 는 호출하는 쪽에서 ! 로 escape)
+    @Query("SELECT new com.example.user.dto.UserNameDTO(u.id, u.nickname) FROM User u " +
+            "WHERE u.nickname LIKE :pattern ESCAPE '!' ORDER BY u.nickname")
+    List<UserNameDTO> findUserNamesByNicknameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT new com.example.user.dto.UserNameDTO(u.id, u.nickname) FROM User u WHERE u.id IN :ids")
+    List<UserNameDTO> findUserNamesByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT new com.example.user.dto.UserNameDTO(u.id, u.nickname) FROM User u")
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    Stream<UserNameDTO> streamAllUserNames();
+
+    @Query("SELECT u.password FROM User u WHERE u.id = :id")
+    Optional<String> findPasswordById(@Param("id") String id);
+
+    @Query("SELECT u.deleteRequestAt FROM User u WHERE u.id = :id")
+    Optional<LocalDateTime> findDeleteRequestAtById(@Param("id") String id);
 }
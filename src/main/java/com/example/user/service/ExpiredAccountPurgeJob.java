@@ -0,0 +1,137 @@
+package com.example.user.service;
+
+import com.example.user.dto.UserEvent;
+import com.example.user.repository.FriendRepository;
+import com.example.user.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 탈퇴 유예기간이 지난 계정을 batch 단위로 삭제한다.
+ * batch 마다 별도 트랜잭션으로 friend / roles / user 를 set 기반 DELETE 로 지우고,
+ * scheduler 스레드가 아닌 전용 스레드에서 실행된다.
+ */
+@Slf4j
+@Component
+public class ExpiredAccountPurgeJob {
+    private final UserRepository userRepository;
+    private final FriendRepository friendRepository;
+    private final UserProfileCache userProfileCache;
+    private final NicknameSearchIndex nicknameSearchIndex;
+    private final FriendshipGraph friendshipGraph;
+    private final UserEventOutbox userEventOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long retentionDays;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "account-purge"));
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private final Timer purgeTimer;
+    private final Counter deletedCounter;
+    private final AtomicLong lastRowsPerSecond = new AtomicLong();
+
+    public ExpiredAccountPurgeJob(UserRepository userRepository,
+                                  FriendRepository friendRepository,
+                                  UserProfileCache userProfileCache,
+                                  NicknameSearchIndex nicknameSearchIndex,
+                                  FriendshipGraph friendshipGraph,
+                                  UserEventOutbox userEventOutbox,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${user.purge.batch-size:500}") int batchSize,
+                                  @Value("${user.purge.retention-days:7}") long retentionDays) {
+        this.userRepository = userRepository;
+        this.friendRepository = friendRepository;
+        this.userProfileCache = userProfileCache;
+        this.nicknameSearchIndex = nicknameSearchIndex;
+        this.friendshipGraph = friendshipGraph;
+        this.userEventOutbox = userEventOutbox;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retentionDays = retentionDays;
+        this.purgeTimer = Timer.builder("user.purge.duration")
+                .description("Duration of one expired account purge run")
+                .register(meterRegistry);
+        this.deletedCounter = Counter.builder("user.purge.deleted")
+                .description("Expired accounts deleted")
+                .register(meterRegistry);
+        Gauge.builder("user.purge.rows-per-second", lastRowsPerSecond, AtomicLong::get)
+                .description("Deletion rate of the last purge run")
+                .register(meterRegistry);
+    }
+
+    // 이미 실행 중이면 새로 시작하지 않는다
+    public void submit() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Expired account purge is already running, skipping");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                purge();
+            } catch (Exception e) {
+                log.error("Expired account purge failed", e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    private void purge() {
+        LocalDateTime thresholdDate = LocalDateTime.now().minusDays(retentionDays);
+        long start = System.nanoTime();
+        long total = 0;
+
+        int deleted;
+        do {
+            Integer result = transactionTemplate.execute(status -> purgeBatch(thresholdDate));
+            deleted = result == null ? 0 : result;
+            total += deleted;
+            deletedCounter.increment(deleted);
+        } while (deleted == batchSize);
+
+        long elapsedNanos = System.nanoTime() - start;
+        purgeTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        long rowsPerSecond = elapsedNanos == 0 ? 0 : total * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        lastRowsPerSecond.set(rowsPerSecond);
+        log.info("Purged {} expired accounts in {} ms ({} rows/s)",
+                total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+    }
+
+    private int purgeBatch(LocalDateTime thresholdDate) {
+        List<String> ids = userRepository.findIdsByDeleteRequestAtBefore(thresholdDate, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        friendRepository.deleteAllByUserIdsOrFriendIds(ids);
+        userRepository.deleteRolesByUserIds(ids);
+        userRepository.deleteAllByIdIn(ids);
+        userEventOutbox.recordAll(UserEvent.Type.ACCOUNT_DELETED, ids);
+        userProfileCache.evictAll(ids);
+        nicknameSearchIndex.removeAll(ids);
+        friendshipGraph.removeUsers(ids);
+        return ids.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.user.service;
+
+import com.example.user.dto.FriendEventDTO;
+import com.example.user.utility.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 친구 관련 변경을 STOMP 로 push 한다. (/topic/users/{userId}/friends)
+ * 커밋 이후 수신자별로 모아 두었다가 flush 주기마다 한 번에 보내고,
+ * 같은 상대에 대한 같은 종류의 이벤트는 마지막 것만 남긴다.
+ * 구독은 StompAuthChannelInterceptor 가 본인 topic 으로만 허용한다.
+ * 이 인스턴스의 simple broker 로 보내므로 다른 인스턴스에 연결된 사용자는 받지 못한다.
+ * 여러 인스턴스로 띄우려면 broker relay 로 바꾸거나, 클라이언트가 재연결 시 친구 목록 API 로 다시 맞춰야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class FriendEventPublisher {
+    public static final String DESTINATION = "/topic/users/%s/friends";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<String, Map<String, FriendEventDTO>> pending = new ConcurrentHashMap<>();
+
+    public void publish(String recipientId, FriendEventDTO.Type type, String userId, String nickname) {
+        FriendEventDTO event = new FriendEventDTO(type, userId, nickname, System.currentTimeMillis());
+        AfterCommit.run(() -> enqueue(recipientId, event));
+    }
+
+    public void publishAll(Collection<String> recipientIds, FriendEventDTO.Type type, String userId, String nickname) {
+        FriendEventDTO event = new FriendEventDTO(type, userId, nickname, System.currentTimeMillis());
+        AfterCommit.run(() -> recipientIds.forEach(recipientId -> enqueue(recipientId, event)));
+    }
+
+    private void enqueue(String recipientId, FriendEventDTO event) {
+        pending.compute(recipientId, (id, events) -> {
+            Map<String, FriendEventDTO> coalesced = events == null ? new LinkedHashMap<>() : events;
+            String key = event.type() + ":" + event.userId();
+            coalesced.remove(key);
+            coalesced.put(key, event);
+            return coalesced;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${user.friend-events.flush-interval-millis:200}")
+    public void flush() {
+        for (String recipientId : pending.keySet()) {
+            Map<String, FriendEventDTO> events = pending.remove(recipientId);
+            if (events != null && !events.isEmpty()) {
+                messagingTemplate.convertAndSend(String.format(DESTINATION, recipientId), new ArrayList<>(events.values()));
+            }
+        }
+    }
+}
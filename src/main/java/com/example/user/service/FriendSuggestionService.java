@@ -0,0 +1,189 @@
+package com.example.user.service;
+
+import com.example.user.dto.FriendSuggestionDTO;
+import com.example.user.dto.UserNameDTO;
+import com.example.user.entity.Friend;
+import com.example.user.repository.FriendRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 공통 친구 수 / 친구의 친구 추천.
+ * FriendshipGraph 의 정렬된 int[] 를 merge 방식으로 교집합하고,
+ * 추천 결과는 사용자별로 캐시해 두었다가 주변 관계가 바뀌면 해당 사용자들만 무효화한다.
+ * 그래프가 꺼져 있거나 적재 중이면 friend 테이블 2-hop join 으로 계산한다 (캐시하지 않음).
+ */
+@Service
+public class FriendSuggestionService {
+    private static final int CHECK_DEADLINE_EVERY = 1024;
+
+    private final FriendshipGraph friendshipGraph;
+    private final FriendRepository friendRepository;
+    private final Cache<String, Ranked> suggestions;
+    // 계산 한 번에 방문할 최대 간선 수와 시간 (초과하면 그때까지의 결과로 순위를 매긴다)
+    private final int maxEdgeVisits;
+    private final long budgetNanos;
+    private final int maxSuggestions;
+
+    // 후보 노드 번호와 공통 친구 수 (순위순)
+    private record Ranked(int[] candidates, int[] mutualCounts) {
+    }
+
+    public FriendSuggestionService(FriendshipGraph friendshipGraph,
+                                   FriendRepository friendRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${user.friend-suggestions.max-edge-visits:200000}") int maxEdgeVisits,
+                                   @Value("${user.friend-suggestions.budget:20ms}") Duration budget,
+                                   @Value("${user.friend-suggestions.max-size:50}") int maxSuggestions,
+                                   @Value("${user.friend-suggestions.cache-ttl:10m}") Duration cacheTtl) {
+        this.friendshipGraph = friendshipGraph;
+        this.friendRepository = friendRepository;
+        this.maxEdgeVisits = maxEdgeVisits;
+        this.budgetNanos = budget.toNanos();
+        this.maxSuggestions = maxSuggestions;
+        this.suggestions = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, suggestions, "friendSuggestions");
+        friendshipGraph.addChangeListener(this::invalidate);
+    }
+
+    public List<FriendSuggestionDTO> suggestions(String userId, int size) {
+        if (!friendshipGraph.isReady()) {
+            return friendRepository.findSuggestions(userId, Friend.Status.FRIEND,
+                    PageRequest.of(0, Math.max(1, Math.min(size, maxSuggestions))));
+        }
+        if (friendshipGraph.find(userId) == null) {
+            return List.of();
+        }
+        Ranked ranked = suggestions.get(userId, this::rank);
+        int limit = Math.min(size, ranked.candidates().length);
+
+        List<FriendSuggestionDTO> result = new ArrayList<>(limit);
+        for (int i = 0; i < ranked.candidates().length && result.size() < limit; i++) {
+            FriendshipGraph.Node candidate = friendshipGraph.nodeAt(ranked.candidates()[i]);
+            // 캐시된 뒤 삭제된 사용자는 건너뛴다
+            if (friendshipGraph.find(candidate.id) == candidate) {
+                result.add(new FriendSuggestionDTO(candidate.id, candidate.nickname, ranked.mutualCounts()[i]));
+            }
+        }
+        return result;
+    }
+
+    public List<UserNameDTO> mutualFriends(String userId, String otherId) {
+        if (!friendshipGraph.isReady()) {
+            return friendRepository.findMutualFriends(userId, otherId, Friend.Status.FRIEND, Pageable.unpaged());
+        }
+        FriendshipGraph.Node user = friendshipGraph.find(userId);
+        FriendshipGraph.Node other = friendshipGraph.find(otherId);
+        if (user == null || other == null) {
+            return List.of();
+        }
+        int[] mutual = intersect(user.friends, other.friends);
+        List<UserNameDTO> result = new ArrayList<>(mutual.length);
+        for (int index : mutual) {
+            FriendshipGraph.Node node = friendshipGraph.nodeAt(index);
+            result.add(new UserNameDTO(node.id, node.nickname));
+        }
+        return result;
+    }
+
+    private Ranked rank(String userId) {
+        FriendshipGraph.Node user = friendshipGraph.find(userId);
+        if (user == null) {
+            return new Ranked(new int[0], new int[0]);
+        }
+        int[] friends = user.friends;
+        int[] sent = user.sent;
+        int[] received = user.received;
+
+        long deadline = System.nanoTime() + budgetNanos;
+        Map<Integer, Integer> counts = new HashMap<>();
+        int visits = 0;
+
+        // 친구가 적은 친구부터 돌아 예산 안에서 더 많은 친구를 반영한다
+        int[] byDegree = Arrays.stream(friends)
+                .boxed()
+                .sorted((a, b) -> Integer.compare(
+                        friendshipGraph.nodeAt(a).friends.length,
+                        friendshipGraph.nodeAt(b).friends.length))
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        outer:
+        for (int friendIndex : byDegree) {
+            for (int candidate : friendshipGraph.nodeAt(friendIndex).friends) {
+                if (++visits > maxEdgeVisits
+                        || (visits % CHECK_DEADLINE_EVERY == 0 && System.nanoTime() > deadline)) {
+                    break outer;
+                }
+                if (candidate == user.index
+                        || Arrays.binarySearch(friends, candidate) >= 0
+                        || Arrays.binarySearch(sent, candidate) >= 0
+                        || Arrays.binarySearch(received, candidate) >= 0) {
+                    continue;
+                }
+                counts.merge(candidate, 1, Integer::sum);
+            }
+        }
+
+        List<Map.Entry<Integer, Integer>> top = counts.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(entry -> friendshipGraph.nodeAt(entry.getKey()).id))
+                .limit(maxSuggestions)
+                .toList();
+        int[] candidates = new int[top.size()];
+        int[] mutualCounts = new int[top.size()];
+        for (int i = 0; i < top.size(); i++) {
+            candidates[i] = top.get(i).getKey();
+            mutualCounts[i] = top.get(i).getValue();
+        }
+        return new Ranked(candidates, mutualCounts);
+    }
+
+    // 관계가 바뀐 사용자와 그 친구들의 추천이 달라진다
+    private void invalidate(Collection<String> userIds) {
+        for (String userId : userIds) {
+            suggestions.invalidate(userId);
+            FriendshipGraph.Node node = friendshipGraph.find(userId);
+            if (node != null) {
+                for (int friend : node.friends) {
+                    suggestions.invalidate(friendshipGraph.nodeAt(friend).id);
+                }
+            }
+        }
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[n++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.user.service;
+
+import com.example.user.dto.FriendDTO;
+import com.example.user.dto.FriendEdgeDTO;
+import com.example.user.dto.ProfileDTO;
+import com.example.user.entity.Friend;
+import com.example.user.repository.FriendRepository;
+import com.example.user.utility.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 친구 관계 전체를 메모리에 올린 인접 리스트 (user.friend-graph.enabled).
+ * 사용자마다 정수 번호를 부여하고 친구 / 보낸 요청 / 받은 요청을 정렬된 int[] 로 가진다.
+ * 읽기는 lock 없이 volatile 배열을 읽고, 쓰기는 커밋 이후에 하나의 lock 아래에서 배열을 새로 만들어 교체한다.
+ * 적재가 끝나기 전(isReady() == false)에는 호출하는 쪽이 DB 로 조회해야 한다.
+ * 변경은 이 인스턴스에서 커밋된 것만 반영되므로 여러 인스턴스로 띄울 때는 끄고 DB 로 조회한다.
+ */
+@Slf4j
+@Component
+public class FriendshipGraph {
+    private static final int[] EMPTY = new int[0];
+
+    private final FriendRepository friendRepository;
+    private final UserProfileCache userProfileCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final Map<String, Integer> indexById = new ConcurrentHashMap<>();
+    private volatile Node[] nodes = new Node[1024];
+    private int size = 0;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 적재 중 들어온 변경은 적재가 끝난 뒤 순서대로 반영한다
+    private final Queue<Runnable> backlog = new ArrayDeque<>();
+    private volatile boolean ready = false;
+    private final List<Consumer<Collection<String>>> changeListeners = new CopyOnWriteArrayList<>();
+
+    public FriendshipGraph(FriendRepository friendRepository,
+                           UserProfileCache userProfileCache,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${user.friend-graph.enabled:false}") boolean enabled) {
+        this.friendRepository = friendRepository;
+        this.userProfileCache = userProfileCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    static final class Node {
+        final int index;
+        final String id;
+        volatile String nickname;
+        volatile int[] friends = EMPTY;
+        volatile int[] sent = EMPTY;
+        volatile int[] received = EMPTY;
+
+        Node(int index, String id, String nickname) {
+            this.index = index;
+            this.id = id;
+            this.nickname = nickname;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        AtomicLong edges = new AtomicLong();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<FriendEdgeDTO> rows = friendRepository.streamAllEdges()) {
+                rows.forEach(edge -> {
+                    writeLock.lock();
+                    try {
+                        Node user = node(edge.userId(), edge.userNickname());
+                        Node friend = node(edge.friendId(), edge.friendNickname());
+                        if (edge.status() == Friend.Status.FRIEND) {
+                            user.friends = insert(user.friends, friend.index);
+                        } else if (edge.status() == Friend.Status.REQUEST) {
+                            user.sent = insert(user.sent, friend.index);
+                            friend.received = insert(friend.received, user.index);
+                        }
+                    } finally {
+                        writeLock.unlock();
+                    }
+                    edges.incrementAndGet();
+                });
+            }
+        });
+
+        writeLock.lock();
+        try {
+            Runnable change;
+            while ((change = backlog.poll()) != null) {
+                change.run();
+            }
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Friendship graph loaded {} users / {} edges in {} ms", indexById.size(), edges.get(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 관계가 바뀐 사용자 id 들을 전달받는다 (커밋 이후, lock 밖에서 호출)
+    public void addChangeListener(Consumer<Collection<String>> listener) {
+        changeListeners.add(listener);
+    }
+
+    // ---------- 조회 ----------
+
+    public List<FriendDTO> friends(String userId, String after, int limit) {
+        Node node = find(userId);
+        return node == null ? List.of() : toDTOs(node.friends, Friend.Status.FRIEND, after, limit);
+    }
+
+    public List<FriendDTO> sentRequests(String userId, String after, int limit) {
+        Node node = find(userId);
+        return node == null ? List.of() : toDTOs(node.sent, Friend.Status.REQUEST, after, limit);
+    }
+
+    public List<FriendDTO> receivedRequests(String userId, String after, int limit) {
+        Node node = find(userId);
+        return node == null ? List.of() : toDTOs(node.received, Friend.Status.REQUEST, after, limit);
+    }
+
+    /**
+     * target -> caller 방향의 관계 (FriendRepository.findStatusByUserIdAndFriendId 와 같은 의미).
+     */
+    public Friend.Status statusTowards(String targetId, String callerId) {
+        Node target = find(targetId);
+        Node caller = find(callerId);
+        if (target == null || caller == null) {
+            return Friend.Status.NOTYET;
+        }
+        if (contains(target.friends, caller.index)) {
+            return Friend.Status.FRIEND;
+        }
+        if (contains(target.sent, caller.index)) {
+            return Friend.Status.REQUEST;
+        }
+        return Friend.Status.NOTYET;
+    }
+
+    private List<FriendDTO> toDTOs(int[] indexes, Friend.Status status, String after, int limit) {
+        Node[] snapshot = nodes;
+        Stream<Node> stream = Arrays.stream(indexes).mapToObj(i -> snapshot[i]);
+        if (after != null) {
+            stream = stream.filter(node -> node.id.compareTo(after) > 0);
+        }
+        return stream
+                .sorted(Comparator.comparing(node -> node.id))
+                .limit(limit)
+                .map(node -> new FriendDTO(node.id, node.nickname, status))
+                .toList();
+    }
+
+    Node find(String userId) {
+        Integer index = indexById.get(userId);
+        return index == null ? null : nodes[index];
+    }
+
+    Node nodeAt(int index) {
+        return nodes[index];
+    }
+
+    // ---------- 변경 (커밋 이후 반영) ----------
+
+    public void addRequest(String fromId, String toId) {
+        change(List.of(fromId, toId), true, () -> {
+            Node from = node(fromId, null);
+            Node to = node(toId, null);
+            from.sent = insert(from.sent, to.index);
+            to.received = insert(to.received, from.index);
+        });
+    }
+
+    public void removeRequest(String fromId, String toId) {
+        change(List.of(fromId, toId), false, () -> {
+            Node from = find(fromId);
+            Node to = find(toId);
+            if (from != null && to != null) {
+                from.sent = remove(from.sent, to.index);
+                to.received = remove(to.received, from.index);
+            }
+        });
+    }
+
+    public void addFriendship(String userId, String friendId) {
+        change(List.of(userId, friendId), true, () -> {
+            Node user = node(userId, null);
+            Node friend = node(friendId, null);
+            user.friends = insert(user.friends, friend.index);
+            friend.friends = insert(friend.friends, user.index);
+            user.sent = remove(user.sent, friend.index);
+            user.received = remove(user.received, friend.index);
+            friend.sent = remove(friend.sent, user.index);
+            friend.received = remove(friend.received, user.index);
+        });
+    }
+
+    public void removeFriendship(String userId, String friendId) {
+        change(List.of(userId, friendId), false, () -> {
+            Node user = find(userId);
+            Node friend = find(friendId);
+            if (user != null && friend != null) {
+                user.friends = remove(user.friends, friend.index);
+                friend.friends = remove(friend.friends, user.index);
+            }
+        });
+    }
+
+    public void rename(String userId, String nickname) {
+        change(List.of(), false, () -> {
+            Node node = find(userId);
+            if (node != null) {
+                node.nickname = nickname;
+            }
+        });
+    }
+
+    public void removeUsers(Collection<String> userIds) {
+        change(userIds, false, () -> {
+            for (String userId : userIds) {
+                Integer index = indexById.remove(userId);
+                if (index == null) {
+                    continue;
+                }
+                Node node = nodes[index];
+                for (int other : node.friends) {
+                    nodes[other].friends = remove(nodes[other].friends, index);
+                }
+                for (int other : node.sent) {
+                    nodes[other].received = remove(nodes[other].received, index);
+                }
+                for (int other : node.received) {
+                    nodes[other].sent = remove(nodes[other].sent, index);
+                }
+                node.friends = EMPTY;
+                node.sent = EMPTY;
+                node.received = EMPTY;
+            }
+        });
+    }
+
+    // 새 노드에 필요한 닉네임은 lock 밖에서 미리 조회한다
+    private void change(Collection<String> affectedUsers, boolean createNodes, Runnable mutation) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            for (String userId : affectedUsers) {
+                if (createNodes && !indexById.containsKey(userId)) {
+                    ProfileDTO profile = userProfileCache.get(userId);
+                    writeLock.lock();
+                    try {
+                        node(userId, profile == null ? null : profile.nickname());
+                    } finally {
+                        writeLock.unlock();
+                    }
+                }
+            }
+            writeLock.lock();
+            try {
+                if (ready) {
+                    mutation.run();
+                } else {
+                    backlog.add(mutation);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+            if (!affectedUsers.isEmpty()) {
+                changeListeners.forEach(listener -> listener.accept(affectedUsers));
+            }
+        });
+    }
+
+    // writeLock 을 잡은 상태에서만 호출
+    private Node node(String userId, String nickname) {
+        Integer index = indexById.get(userId);
+        if (index != null) {
+            Node existing = nodes[index];
+            if (nickname != null) {
+                existing.nickname = nickname;
+            }
+            return existing;
+        }
+        Node[] current = nodes;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        Node created = new Node(size, userId, nickname);
+        current[size] = created;
+        nodes = current;
+        size++;
+        indexById.put(userId, created.index);
+        return created;
+    }
+
+    private static boolean contains(int[] sorted, int value) {
+        return Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    private static int[] insert(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        if (position >= 0) {
+            return sorted;
+        }
+        position = -position - 1;
+        int[] result = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(sorted, position, result, position + 1, sorted.length - position);
+        return result;
+    }
+
+    private static int[] remove(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        if (position < 0) {
+            return sorted;
+        }
+        if (sorted.length == 1) {
+            return EMPTY;
+        }
+        int[] result = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        System.arraycopy(sorted, position + 1, result, position, sorted.length - position - 1);
+        return result;
+    }
+}
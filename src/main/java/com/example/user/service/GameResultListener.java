@@ -0,0 +1,46 @@
+package com.example.user.service;
+
+import com.example.user.dto.GameResultEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 게임 결과를 batch 로 받아 포인트에 반영한다
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GameResultListener {
+    private final PointUpdateService pointUpdateService;
+    private final DeadLetterPublishingRecoverer gameResultDeadLetterRecoverer;
+
+    @KafkaListener(
+            id = "gameResultListener",
+            topics = "${user.points.topic:game-result}",
+            containerFactory = "gameResultListenerContainerFactory")
+    public void onGameResults(List<ConsumerRecord<String, GameResultEvent>> records) {
+        List<GameResultEvent> events = new ArrayList<>(records.size());
+        List<ConsumerRecord<String, GameResultEvent>> malformed = new ArrayList<>();
+        for (ConsumerRecord<String, GameResultEvent> record : records) {
+            if (record.value() == null) {
+                malformed.add(record);
+                continue;
+            }
+            events.add(record.value());
+        }
+        int users = pointUpdateService.apply(events);
+        log.debug("Applied {} game results to {} users", events.size(), users);
+
+        // 반영이 끝난 뒤에 보내야 batch 가 재시도될 때 DLT 에 중복으로 쌓이지 않는다.
+        // 역직렬화에 실패한 레코드는 recoverer 가 header 의 원래 byte[] 를 그대로 보낸다
+        for (ConsumerRecord<String, GameResultEvent> record : malformed) {
+            log.warn("Sending malformed game result at {}-{}@{} to DLT", record.topic(), record.partition(), record.offset());
+            gameResultDeadLetterRecoverer.accept(record, new IllegalArgumentException("Error: malformed game result"));
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.user.service;
+
+import com.example.user.dto.UserEvent;
+import com.example.user.dto.UserNameDTO;
+import com.example.user.entity.OutboxEvent;
+import com.example.user.repository.OutboxEventRepository;
+import com.example.user.repository.UserRepository;
+import com.example.user.utility.AfterCommit;
+import lombok.extern.slf4j.Slf4j;
+import me.xdrop.fuzzywuzzy.FuzzySearch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * 닉네임 검색용 메모리 인덱스.
+ * 정렬된 map 으로 prefix 검색, trigram 역색인으로 fuzzy 후보를 뽑은 뒤 fuzzywuzzy 로 점수를 매긴다.
+ * 이 인스턴스의 가입 / 닉네임 변경 / 계정 삭제는 커밋 이후에 바로 반영하고,
+ * 다른 인스턴스의 변경은 outbox 테이블의 SIGNED_UP / PROFILE_UPDATED / ACCOUNT_DELETED 를 주기적으로 읽어 반영한다.
+ * outbox id 는 커밋 순서와 다를 수 있으므로 refresh-lookback 보다 최근 행은 다음 주기에 다시 읽는다
+ * (id 순서대로 다시 적용하므로 결과는 같다).
+ * 정규화하면 같아지는 닉네임("foo", " Foo")이 있을 수 있으므로 정규화 key 마다 사용자 id 별로 담는다.
+ * 적재가 끝나기 전(isReady() == false)에는 호출하는 쪽이 DB 로 조회해야 한다.
+ */
+@Slf4j
+@Component
+public class NicknameSearchIndex {
+    private static final int GRAM = 3;
+    private static final int MIN_FUZZY_SCORE = 60;
+    // 후보가 너무 많은 흔한 trigram 은 점수 계산 비용만 키우므로 건너뛴다
+    private static final int MAX_POSTING_SIZE = 20_000;
+    private static final int REFRESH_BATCH_SIZE = 1000;
+    private static final List<UserEvent.Type> REFRESH_TYPES =
+            List.of(UserEvent.Type.SIGNED_UP, UserEvent.Type.PROFILE_UPDATED, UserEvent.Type.ACCOUNT_DELETED);
+
+    private final UserRepository userRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final Duration refreshLookback;
+
+    // 정규화 key -> (userId -> 사용자)
+    private final ConcurrentSkipListMap<String, Map<String, UserNameDTO>> byNickname = new ConcurrentSkipListMap<>();
+    private final Map<String, String> nicknameById = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    // 적재 중 이 인스턴스에서 커밋된 변경은 적재가 끝난 뒤 순서대로 반영한다 (this 로 동기화)
+    private final Queue<Runnable> backlog = new ArrayDeque<>();
+    private volatile boolean ready = false;
+    // 이 id 까지의 outbox 는 반영이 끝났다
+    private volatile long refreshedUpTo = 0;
+
+    public NicknameSearchIndex(UserRepository userRepository,
+                               OutboxEventRepository outboxEventRepository,
+                               @Value("${user.search.refresh-lookback:60s}") Duration refreshLookback) {
+        this.userRepository = userRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.refreshLookback = refreshLookback;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        // snapshot 을 읽는 동안 다른 인스턴스에서 커밋된 변경은 이후 refresh 가 다시 적용한다
+        refreshedUpTo = outboxEventRepository.findMaxIdCreatedBefore(LocalDateTime.now().minus(refreshLookback));
+        try (Stream<UserNameDTO> users = userRepository.streamAllUserNames()) {
+            users.forEach(user -> put(user.getId(), user.getNickname()));
+        }
+        synchronized (this) {
+            Runnable change;
+            while ((change = backlog.poll()) != null) {
+                change.run();
+            }
+            ready = true;
+        }
+        log.info("Nickname search index loaded {} users in {} ms", nicknameById.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void add(String userId, String nickname) {
+        AfterCommit.run(() -> apply(() -> put(userId, nickname)));
+    }
+
+    public void rename(String userId, String nickname) {
+        AfterCommit.run(() -> apply(() -> put(userId, nickname)));
+    }
+
+    public void removeAll(Collection<String> userIds) {
+        AfterCommit.run(() -> apply(() -> userIds.forEach(this::remove)));
+    }
+
+    // 적재가 끝나기 전이면 backlog 에 쌓아 두어, 적재 중인 오래된 행이 새 변경을 덮어쓰지 않게 한다
+    private synchronized void apply(Runnable change) {
+        if (ready) {
+            change.run();
+        } else {
+            backlog.add(change);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${user.search.refresh-interval-millis:5000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime settledBefore = LocalDateTime.now().minus(refreshLookback);
+        long after = refreshedUpTo;
+        long settled = after;
+        boolean settling = true;
+        List<OutboxEvent> events;
+        do {
+            events = outboxEventRepository.findByTypeAfter(after, REFRESH_TYPES, PageRequest.of(0, REFRESH_BATCH_SIZE));
+            for (OutboxEvent event : events) {
+                if (event.getType() == UserEvent.Type.ACCOUNT_DELETED) {
+                    remove(event.getUserId());
+                } else {
+                    put(event.getUserId(), event.getData());
+                }
+                after = event.getId();
+                // 최근 행이 처음 나온 뒤로는 기준 id 를 넘기지 않는다 (그 사이에 늦게 커밋되는 행이 있을 수 있다)
+                settling = settling && event.getCreatedAt() != null && event.getCreatedAt().isBefore(settledBefore);
+                if (settling) {
+                    settled = after;
+                }
+            }
+        } while (events.size() == REFRESH_BATCH_SIZE);
+        refreshedUpTo = settled;
+    }
+
+    private synchronized void put(String userId, String nickname) {
+        if (userId == null || nickname == null) {
+            return;
+        }
+        String previous = nicknameById.put(userId, nickname);
+        if (previous != null) {
+            unindex(userId, previous);
+        }
+        String key = normalize(nickname);
+        byNickname.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(userId, new UserNameDTO(userId, nickname));
+        for (String gram : grams(key)) {
+            postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private synchronized void remove(String userId) {
+        String previous = nicknameById.remove(userId);
+        if (previous != null) {
+            unindex(userId, previous);
+        }
+    }
+
+    // 같은 key 를 쓰는 다른 사용자가 남아 있으면 key 와 trigram 은 그대로 둔다
+    private void unindex(String userId, String nickname) {
+        String key = normalize(nickname);
+        Map<String, UserNameDTO> users = byNickname.get(key);
+        if (users == null) {
+            return;
+        }
+        users.remove(userId);
+        if (!users.isEmpty()) {
+            return;
+        }
+        byNickname.remove(key, users);
+        for (String gram : grams(key)) {
+            Set<String> keys = postings.get(gram);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    postings.remove(gram, keys);
+                }
+            }
+        }
+    }
+
+    /**
+     * prefix 일치를 먼저, 그 다음 fuzzy 점수 순으로 최대 limit 개.
+     */
+    public List<UserNameDTO> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) {
+            return List.of();
+        }
+        String key = normalize(query);
+        Map<String, Integer> scores = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Map<String, UserNameDTO>> entry : byNickname.tailMap(key, true).entrySet()) {
+            if (!entry.getKey().startsWith(key) || scores.size() >= limit) {
+                break;
+            }
+            // prefix 일치는 항상 fuzzy 결과보다 앞에, 짧을수록 앞에
+            scores.put(entry.getKey(), 200 - entry.getKey().length());
+        }
+
+        if (key.length() >= GRAM) {
+            for (String candidate : fuzzyCandidates(key, limit * 10)) {
+                if (scores.containsKey(candidate)) {
+                    continue;
+                }
+                int score = FuzzySearch.weightedRatio(key, candidate);
+                if (score >= MIN_FUZZY_SCORE) {
+                    scores.put(candidate, score);
+                }
+            }
+        }
+
+        List<UserNameDTO> results = new ArrayList<>(Math.min(limit, scores.size()));
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(entry -> byNickname.get(entry.getKey()))
+                .filter(Objects::nonNull)
+                .flatMap(users -> users.values().stream())
+                .limit(limit)
+                .forEach(results::add);
+        return results;
+    }
+
+    // 공유하는 trigram 수가 많은 순으로 후보를 고른다
+    private List<String> fuzzyCandidates(String key, int maxCandidates) {
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams(key)) {
+            Set<String> keys = postings.get(gram);
+            if (keys == null || keys.size() > MAX_POSTING_SIZE) {
+                continue;
+            }
+            for (String candidate : keys) {
+                shared.merge(candidate, 1, Integer::sum);
+            }
+        }
+        return shared.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                .limit(maxCandidates)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static Set<String> grams(String key) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= key.length(); i++) {
+            grams.add(key.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String nickname) {
+        return nickname.strip().toLowerCase(Locale.ROOT);
+    }
+}
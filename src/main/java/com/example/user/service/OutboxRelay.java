@@ -0,0 +1,129 @@
+package com.example.user.service;
+
+import com.example.user.dto.UserEvent;
+import com.example.user.entity.OutboxEvent;
+import com.example.user.repository.OutboxEventRepository;
+import com.example.user.utility.DatabaseLeaderLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * outbox 에 쌓인 이벤트를 id 순서대로 batch 로 Kafka 에 발행한다.
+ * key 가 userId 라 같은 사용자의 이벤트는 같은 파티션에 순서대로 들어간다.
+ * 값은 UserEventSerializer 의 바이너리 포맷이라 JSON 을 쓰던 예전 user 토픽과 섞지 않고 user-events.v1 로 보낸다.
+ * 여러 인스턴스가 동시에 보내면 순서가 섞이므로 DB leader lock 을 가진 인스턴스 하나만 relay 한다.
+ * 발행에 실패하면 트랜잭션이 롤백되어 다음 주기에 다시 보낸다 (at-least-once).
+ * batch 전체를 보낸 뒤 한 번에 ack 를 기다리므로 producer 가 linger 동안 레코드를 묶어 보낼 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "user.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, UserEvent> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseLeaderLock leaderLock;
+    private final String topic;
+    private final int batchSize;
+    private final long sendTimeoutMillis;
+
+    private final Timer publishTimer;
+    private final Counter publishedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, UserEvent> userEventKafkaTemplate,
+                       TransactionTemplate transactionTemplate,
+                       DataSource dataSource,
+                       MeterRegistry meterRegistry,
+                       @Value("${user.outbox.topic:user-events.v1}") String topic,
+                       @Value("${user.outbox.batch-size:200}") int batchSize,
+                       @Value("${user.outbox.send-timeout-millis:10000}") long sendTimeoutMillis) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = userEventKafkaTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.leaderLock = new DatabaseLeaderLock(dataSource, "user_event_outbox_relay");
+        this.topic = topic;
+        this.batchSize = batchSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.publishTimer = Timer.builder("user.events.publish.latency")
+                .description("Time from sending an outbox batch until every record is acknowledged")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("user.events.published")
+                .description("User events acknowledged by Kafka")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("user.events.batch.size")
+                .description("Events per outbox relay batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${user.outbox.poll-interval-millis:500}")
+    public void relay() {
+        if (!leaderLock.tryAcquire()) {
+            return;
+        }
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published == batchSize);
+        } catch (Exception e) {
+            log.warn("Outbox relay failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            UserEvent userEvent = event.toEvent();
+            sends.add(kafkaTemplate.send(topic, userEvent.userId(), userEvent));
+            ids.add(event.getId());
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .orTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS)
+                .join();
+        publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        publishedCounter.increment(events.size());
+        batchSizeSummary.record(events.size());
+
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        return events.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaderLock.close();
+    }
+
+    @Scheduled(cron = "0 30 * * * ?")
+    public void deletePublished() {
+        transactionTemplate.executeWithoutResult(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(1)));
+    }
+}
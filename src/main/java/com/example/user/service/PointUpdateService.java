@@ -0,0 +1,147 @@
+package com.example.user.service;
+
+import com.example.user.dto.GameResultEvent;
+import com.example.user.dto.UserEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 게임 결과 batch 를 사용자별 포인트 증감으로 합쳐 한 번의 UPDATE 로 반영한다.
+ * 이미 처리한 event id 는 processed_point_event 에 남겨 재전송돼도 두 번 반영하지 않는다.
+ */
+@Slf4j
+@Service
+public class PointUpdateService {
+    private static final int MAX_IN_CLAUSE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserProfileCache userProfileCache;
+    private final UserEventOutbox userEventOutbox;
+    private final long processedRetentionDays;
+
+    private final Counter appliedCounter;
+    private final Counter duplicateCounter;
+
+    public PointUpdateService(JdbcTemplate jdbcTemplate,
+                              UserProfileCache userProfileCache,
+                              UserEventOutbox userEventOutbox,
+                              MeterRegistry meterRegistry,
+                              @Value("${user.points.processed-retention-days:7}") long processedRetentionDays) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userProfileCache = userProfileCache;
+        this.userEventOutbox = userEventOutbox;
+        this.processedRetentionDays = processedRetentionDays;
+        this.appliedCounter = Counter.builder("user.points.events.applied")
+                .description("Game result events applied to user points")
+                .register(meterRegistry);
+        this.duplicateCounter = Counter.builder("user.points.events.duplicate")
+                .description("Game result events skipped because they were already applied")
+                .register(meterRegistry);
+    }
+
+    // 반환값: 포인트가 바뀐 사용자 수
+    @Transactional
+    public int apply(List<GameResultEvent> events) {
+        // batch 안의 중복 제거 (나중 것 기준)
+        Map<String, GameResultEvent> byEventId = new LinkedHashMap<>();
+        for (GameResultEvent event : events) {
+            if (event != null && event.eventId() != null && event.userId() != null) {
+                byEventId.put(event.eventId(), event);
+            }
+        }
+        if (byEventId.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> processed = findProcessed(new ArrayList<>(byEventId.keySet()));
+        duplicateCounter.increment(processed.size());
+        byEventId.keySet().removeAll(processed);
+        if (byEventId.isEmpty()) {
+            return 0;
+        }
+
+        // 동시에 같은 event 를 처리하면 PK 충돌로 롤백되고 재시도 시 위에서 걸러진다
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO processed_point_event (event_id, processed_at) VALUES (?, ?)",
+                new ArrayList<>(byEventId.keySet()), MAX_IN_CLAUSE,
+                (ps, eventId) -> {
+                    ps.setString(1, eventId);
+                    ps.setTimestamp(2, now);
+                });
+
+        Map<String, Integer> deltas = new LinkedHashMap<>();
+        for (GameResultEvent event : byEventId.values()) {
+            deltas.merge(event.userId(), event.point(), Integer::sum);
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        for (int from = 0; from < entries.size(); from += MAX_IN_CLAUSE) {
+            updatePoints(entries.subList(from, Math.min(from + MAX_IN_CLAUSE, entries.size())));
+        }
+        for (Map.Entry<String, Integer> entry : entries) {
+            userEventOutbox.record(UserEvent.Type.POINT_CHANGED, entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        userProfileCache.evictAll(deltas.keySet());
+        appliedCounter.increment(byEventId.size());
+        return entries.size();
+    }
+
+    private Set<String> findProcessed(List<String> eventIds) {
+        Set<String> processed = new HashSet<>();
+        for (int from = 0; from < eventIds.size(); from += MAX_IN_CLAUSE) {
+            List<String> chunk = eventIds.subList(from, Math.min(from + MAX_IN_CLAUSE, eventIds.size()));
+            String sql = "SELECT event_id FROM processed_point_event WHERE event_id IN (" + placeholders(chunk.size()) + ")";
+            processed.addAll(jdbcTemplate.queryForList(sql, String.class, chunk.toArray()));
+        }
+        return processed;
+    }
+
+    // UPDATE user SET point = point + CASE id WHEN ? THEN ? ... END WHERE id IN (...)
+    private void updatePoints(List<Map.Entry<String, Integer>> entries) {
+        StringBuilder sql = new StringBuilder("UPDATE user SET point = point + CASE id");
+        List<Object> args = new ArrayList<>(entries.size() * 3);
+        for (Map.Entry<String, Integer> entry : entries) {
+            sql.append(" WHEN ? THEN ?");
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        sql.append(" ELSE 0 END WHERE id IN (").append(placeholders(entries.size())).append(')');
+        for (Map.Entry<String, Integer> entry : entries) {
+            args.add(entry.getKey());
+        }
+        int updated = jdbcTemplate.update(sql.toString(), args.toArray());
+        if (updated < entries.size()) {
+            // 탈퇴로 삭제된 사용자는 건너뛴다
+            log.debug("Point update skipped {} missing users", entries.size() - updated);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    @Scheduled(cron = "0 15 3 * * ?")
+    @Transactional
+    public void deleteOldProcessedEvents() {
+        int deleted = jdbcTemplate.update("DELETE FROM processed_point_event WHERE processed_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(processedRetentionDays)));
+        log.info("Deleted {} processed point event ids", deleted);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.user.service;
+
+import com.example.user.dto.FriendDTO;
+import com.example.user.dto.PresenceDTO;
+import com.example.user.dto.UserNameDTO;
+import com.example.user.entity.Friend;
+import com.example.user.repository.FriendRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP 세션 기준 접속 상태.
+ * 세션 연결 / 해제 / heartbeat 는 map 연산 한두 번으로 끝나고,
+ * 친구에게 보내는 상태 변경은 사용자별 최소 간격으로 모아서 온라인인 친구에게만 보낸다.
+ * 세션과 전송은 이 인스턴스의 simple broker 기준이라, 다른 인스턴스에 연결된 친구의 상태는 알지 못한다
+ * (여러 인스턴스로 띄우려면 broker relay 가 필요하다).
+ */
+@Slf4j
+@Service
+public class PresenceService {
+    public static final String DESTINATION = "/topic/users/%s/presence";
+
+    private final FriendshipGraph friendshipGraph;
+    private final FriendRepository friendRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long sessionTimeoutMillis;
+    private final long minBroadcastIntervalMillis;
+    private final int maxFanOut;
+
+    private final Map<String, SessionInfo> sessions = new ConcurrentHashMap<>();
+    // 사용자별 열린 세션 수 (0 이 되면 제거)
+    private final Map<String, Integer> onlineUsers = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastBroadcastAt = new ConcurrentHashMap<>();
+    private final Set<String> pendingBroadcasts = ConcurrentHashMap.newKeySet();
+
+    private static final class SessionInfo {
+        private final String userId;
+        private volatile long lastSeen;
+
+        private SessionInfo(String userId, long lastSeen) {
+            this.userId = userId;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    public PresenceService(FriendshipGraph friendshipGraph,
+                           FriendRepository friendRepository,
+                           SimpMessagingTemplate messagingTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${user.presence.session-timeout:90s}") Duration sessionTimeout,
+                           @Value("${user.presence.min-broadcast-interval:5s}") Duration minBroadcastInterval,
+                           @Value("${user.presence.max-fan-out:1000}") int maxFanOut) {
+        this.friendshipGraph = friendshipGraph;
+        this.friendRepository = friendRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.sessionTimeoutMillis = sessionTimeout.toMillis();
+        this.minBroadcastIntervalMillis = minBroadcastInterval.toMillis();
+        this.maxFanOut = maxFanOut;
+        Gauge.builder("user.presence.online", onlineUsers, Map::size).register(meterRegistry);
+        Gauge.builder("user.presence.sessions", sessions, Map::size).register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (user == null || sessionId == null) {
+            return;
+        }
+        sessions.put(sessionId, new SessionInfo(user.getName(), System.currentTimeMillis()));
+        if (onlineUsers.merge(user.getName(), 1, Integer::sum) == 1) {
+            pendingBroadcasts.add(user.getName());
+        }
+    }
+
+    @EventListener
+    public void onDisconnected(SessionDisconnectEvent event) {
+        closeSession(event.getSessionId());
+    }
+
+    // sweep 으로 정리된 뒤에도 연결이 살아 있어 heartbeat 가 오면 다시 온라인으로 등록한다
+    public void heartbeat(String sessionId, Principal user) {
+        if (sessionId == null || user == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        SessionInfo session = sessions.get(sessionId);
+        if (session != null) {
+            session.lastSeen = now;
+            return;
+        }
+        if (sessions.putIfAbsent(sessionId, new SessionInfo(user.getName(), now)) == null
+                && onlineUsers.merge(user.getName(), 1, Integer::sum) == 1) {
+            pendingBroadcasts.add(user.getName());
+        }
+    }
+
+    public boolean isOnline(String userId) {
+        return onlineUsers.containsKey(userId);
+    }
+
+    public List<UserNameDTO> onlineFriends(String userId) {
+        return friendsOf(userId).stream()
+                .filter(friend -> isOnline(friend.getId()))
+                .map(friend -> new UserNameDTO(friend.getId(), friend.getNickname()))
+                .toList();
+    }
+
+    private void closeSession(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        SessionInfo session = sessions.remove(sessionId);
+        if (session == null) {
+            return;
+        }
+        Integer remaining = onlineUsers.computeIfPresent(session.userId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            pendingBroadcasts.add(session.userId);
+        }
+    }
+
+    // disconnect 이벤트 없이 끊긴 세션 정리
+    @Scheduled(fixedDelayString = "${user.presence.sweep-interval-millis:30000}")
+    public void sweepStaleSessions() {
+        long threshold = System.currentTimeMillis() - sessionTimeoutMillis;
+        sessions.forEach((sessionId, session) -> {
+            if (session.lastSeen < threshold) {
+                closeSession(sessionId);
+            }
+        });
+        long broadcastThreshold = System.currentTimeMillis() - minBroadcastIntervalMillis;
+        lastBroadcastAt.entrySet().removeIf(entry -> entry.getValue() < broadcastThreshold
+                && !isOnline(entry.getKey()) && !pendingBroadcasts.contains(entry.getKey()));
+    }
+
+    // 짧은 간격의 접속 / 해제 반복은 마지막 상태만 전송된다
+    @Scheduled(fixedDelayString = "${user.presence.flush-interval-millis:1000}")
+    public void flushBroadcasts() {
+        long now = System.currentTimeMillis();
+        for (String userId : pendingBroadcasts) {
+            Long last = lastBroadcastAt.get(userId);
+            if (last != null && now - last < minBroadcastIntervalMillis) {
+                continue;
+            }
+            pendingBroadcasts.remove(userId);
+            lastBroadcastAt.put(userId, now);
+            broadcast(new PresenceDTO(userId, isOnline(userId), now));
+        }
+    }
+
+    private void broadcast(PresenceDTO presence) {
+        friendsOf(presence.userId()).stream()
+                .map(UserNameDTO::getId)
+                .filter(this::isOnline)
+                .limit(maxFanOut)
+                .forEach(friendId -> messagingTemplate.convertAndSend(String.format(DESTINATION, friendId), presence));
+    }
+
+    private List<FriendDTO> friendsOf(String userId) {
+        if (friendshipGraph.isReady()) {
+            return friendshipGraph.friends(userId, null, Integer.MAX_VALUE);
+        }
+        return friendRepository.findSentFriendDTOs(userId, Friend.Status.FRIEND, null, Pageable.unpaged());
+    }
+}
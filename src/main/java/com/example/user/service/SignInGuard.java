@@ -0,0 +1,124 @@
+package com.example.user.service;
+
+import com.example.user.exception.TooManyRequestsException;
+import com.example.user.utility.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인 시도를 DB 조회 / BCrypt 비교 전에 거른다.
+ * - 없는 id 는 짧은 TTL 로 기억해 같은 id 로 반복 시도하면 바로 실패시킨다.
+ * - 비밀번호를 연속으로 틀린 계정은 free-attempts 이후 실패할 때마다 대기 시간을 두 배로 늘린다.
+ */
+@Component
+public class SignInGuard {
+    private final Cache<String, Boolean> unknownIds;
+    private final Cache<String, Attempts> failures;
+    private final int freeAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private final Counter unknownIdRejected;
+    private final Counter backoffRejected;
+
+    public SignInGuard(MeterRegistry meterRegistry,
+                       @Value("${security.sign-in.unknown-id-ttl:1m}") Duration unknownIdTtl,
+                       @Value("${security.sign-in.maximum-size:100000}") long maximumSize,
+                       @Value("${security.sign-in.free-attempts:3}") int freeAttempts,
+                       @Value("${security.sign-in.base-backoff:1s}") Duration baseBackoff,
+                       @Value("${security.sign-in.max-backoff:15m}") Duration maxBackoff) {
+        this.unknownIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(unknownIdTtl)
+                .build();
+        // 마지막 실패 이후 최대 대기 시간만큼 지나면 실패 기록도 사라진다
+        this.failures = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(maxBackoff.multipliedBy(2))
+                .build();
+        this.freeAttempts = freeAttempts;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.unknownIdRejected = Counter.builder("user.sign-in.rejected")
+                .description("Sign-in attempts rejected before the database lookup")
+                .tag("reason", "unknown-id")
+                .register(meterRegistry);
+        this.backoffRejected = Counter.builder("user.sign-in.rejected")
+                .description("Sign-in attempts rejected before the database lookup")
+                .tag("reason", "backoff")
+                .register(meterRegistry);
+    }
+
+    // 없는 id 면 true (호출한 쪽에서 "사용자를 찾을 수 없습니다" 로 처리)
+    public boolean isKnownUnknown(String userId) {
+        if (unknownIds.getIfPresent(userId) != null) {
+            unknownIdRejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    // 대기 시간이 남아 있으면 TooManyRequestsException
+    public void checkBackoff(String userId) {
+        Attempts attempts = failures.getIfPresent(userId);
+        if (attempts == null) {
+            return;
+        }
+        long remaining = attempts.remainingNanos(System.nanoTime());
+        if (remaining > 0) {
+            backoffRejected.increment();
+            throw new TooManyRequestsException("Too many failed sign-in attempts, please retry later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    public void onUnknownId(String userId) {
+        unknownIds.put(userId, Boolean.TRUE);
+    }
+
+    public void onFailure(String userId) {
+        // compute 는 write 로 취급되어 실패할 때마다 만료 시각이 연장된다
+        failures.asMap().compute(userId, (id, attempts) -> {
+            Attempts updated = attempts == null ? new Attempts() : attempts;
+            updated.fail(System.nanoTime(), freeAttempts, baseBackoffNanos, maxBackoffNanos);
+            return updated;
+        });
+    }
+
+    public void onSuccess(String userId) {
+        failures.invalidate(userId);
+    }
+
+    // 가입 직후 바로 로그인할 수 있도록 (커밋 이후에도 한 번 더)
+    public void onSignUp(String userId) {
+        unknownIds.invalidate(userId);
+        AfterCommit.run(() -> unknownIds.invalidate(userId));
+    }
+
+    private static final class Attempts {
+        private int count;
+        private long blockedUntil;
+        private boolean blocked;
+
+        synchronized void fail(long now, int freeAttempts, long baseNanos, long maxNanos) {
+            count++;
+            if (count > freeAttempts) {
+                int exponent = Math.min(count - freeAttempts - 1, 30);
+                long backoff = Math.min(maxNanos, baseNanos << exponent);
+                blockedUntil = now + (backoff < 0 ? maxNanos : backoff);
+                blocked = true;
+            }
+        }
+
+        synchronized long remainingNanos(long now) {
+            return blocked ? blockedUntil - now : 0;
+        }
+    }
+}
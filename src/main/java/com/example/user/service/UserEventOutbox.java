@@ -0,0 +1,37 @@
+package com.example.user.service;
+
+import com.example.user.dto.UserEvent;
+import com.example.user.entity.OutboxEvent;
+import com.example.user.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * 상태 변경을 outbox 테이블에 기록한다.
+ * 호출하는 쪽 트랜잭션 안에서만 쓸 수 있어 변경과 이벤트가 함께 커밋되거나 함께 롤백된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserEventOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UserEvent.Type type, String userId, String data) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .userId(userId)
+                .data(data)
+                .build());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(UserEvent.Type type, Collection<String> userIds) {
+        outboxEventRepository.saveAll(userIds.stream()
+                .map(userId -> OutboxEvent.builder().type(type).userId(userId).build())
+                .toList());
+    }
+}
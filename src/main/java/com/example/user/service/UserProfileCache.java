@@ -0,0 +1,57 @@
+package com.example.user.service;
+
+import com.example.user.dto.ProfileDTO;
+import com.example.user.repository.UserRepository;
+import com.example.user.utility.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * id / nickname / point 만 담은 read-through 캐시.
+ * /self, /point, /profile/{userId} 처럼 자주 polling 되는 조회가 DB를 거치지 않도록 한다.
+ */
+@Component
+public class UserProfileCache {
+    private final UserRepository userRepository;
+    private final Cache<String, ProfileDTO> cache;
+
+    public UserProfileCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${user.profile-cache.maximum-size:50000}") long maximumSize,
+                            @Value("${user.profile-cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userProfile");
+    }
+
+    // 존재하지 않는 사용자는 null (캐시하지 않음)
+    public ProfileDTO get(String userId) {
+        return cache.get(userId, this::load);
+    }
+
+    private ProfileDTO load(String userId) {
+        return userRepository.findProfileById(userId).orElse(null);
+    }
+
+    // 커밋 전에 다른 요청이 옛 값을 다시 올릴 수 있으므로 커밋 이후에도 한 번 더 지운다
+    public void evict(String userId) {
+        cache.invalidate(userId);
+        AfterCommit.run(() -> cache.invalidate(userId));
+    }
+
+    public void evictAll(Collection<String> userIds) {
+        cache.invalidateAll(userIds);
+        AfterCommit.run(() -> cache.invalidateAll(userIds));
+    }
+}
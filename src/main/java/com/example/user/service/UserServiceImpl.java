@@ -1,12 +1,17 @@
 package com.example.user.service;
 
 import com.example.user.config.security.JwtTokenProvider;
+import com.example.user.config.security.PasswordHashingService;
+import com.example.user.config.security.TokenRevocationList;
+import com.example.user.config.security.VerifiedClaims;
 import com.example.user.dto.*;
 import com.example.user.entity.Friend;
 import com.example.user.entity.User;
 import com.example.user.repository.FriendRepository;
 import com.example.user.repository.UserRepository;
 import com.example.user.utility.Logout;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
@@ -14,6 +19,8 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -24,9 +31,10 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.PathVariable;
 
 import javax.swing.text.html.Option;
@@ -39,13 +47,33 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserDetailsService {
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_SIZE = 50;
+    private static final int MAX_BATCH_SIZE = 200;
     private final UserRepository userRepository;
     private final FriendRepository friendRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
-
-    @Transactional
+    private final UserProfileCache userProfileCache;
+    private final ExpiredAccountPurgeJob expiredAccountPurgeJob;
+    private final NicknameSearchIndex nicknameSearchIndex;
+    private final FriendshipGraph friendshipGraph;
+    private final FriendSuggestionService friendSuggestionService;
+    private final FriendEventPublisher friendEventPublisher;
+    private final PresenceService presenceService;
+    private final UserEventOutbox userEventOutbox;
+    private final SignInGuard signInGuard;
+    private final TokenRevocationList tokenRevocationList;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // BCrypt 는 트랜잭션 밖에서 먼저 끝낸다 (해싱 풀을 기다리는 동안 DB connection 을 잡고 있지 않도록)
     public String signUp(UserSignupDTO user) {
+        String encodedPassword = passwordHashingService.encode(user.password());
+        return transactionTemplate.execute(status -> createAccount(user, encodedPassword, status));
+    }
+
+    private String createAccount(UserSignupDTO user, String encodedPassword, TransactionStatus status) {
         // 중복 가입 막아야
         if(userRepository.existsById(user.id()))
             return "Error: Duplicated User ID";
@@ -55,7 +83,7 @@ public class UserServiceImpl implements UserDetailsService {
         User newUser = User.builder()
                 .id(user.id())
                 .nickname(user.nickname())
-                .password(passwordEncoder.encode(user.password()))
+                .password(encodedPassword)
                 .birthday(user.birthday())
                 .gender(user.gender())
                 .job(user.job())
@@ -64,24 +92,60 @@ public class UserServiceImpl implements UserDetailsService {
         newUser.getRoles().add(User.UserRole.ROLE_USER);
 
         try{
-            User saved = userRepository.save(newUser);
+            // id 를 직접 지정하는 엔티티라 save() 는 merge 가 되어 같은 id 의 기존 계정을 덮어쓸 수 있다.
+            // persist 는 동시에 같은 id 로 가입해도 PK 충돌로 실패한다
+            entityManager.persist(newUser);
+            // 동시에 같은 id / nickname 으로 가입한 경우 커밋 시점이 아니라 여기서 실패하도록 바로 flush
+            entityManager.flush();
+            userEventOutbox.record(UserEvent.Type.SIGNED_UP, user.id(), user.nickname());
+            signInGuard.onSignUp(user.id());
+            userProfileCache.evict(user.id());
+            nicknameSearchIndex.add(user.id(), user.nickname());
             log.info("Account {} has been created", user.id());
             return "Info: Account Created successfully";
-        } catch(DataIntegrityViolationException e) {
+        } catch(DataIntegrityViolationException | PersistenceException e) {
+            // 실패한 insert 가 남은 트랜잭션은 커밋하지 않고 조용히 롤백한다
+            status.setRollbackOnly();
             log.error(e.getMessage());
             return "Error: Duplicated User";
         }
     }
     public String signIn(UserSigninDTO userDTO) {
-        User user = userRepository.findById(userDTO.getId())
-                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        String userId = userDTO.getId();
+        // 최근에 없다고 확인된 id 나 연속으로 틀린 계정은 DB 조회 / BCrypt 비교 없이 거절
+        if (userId == null || signInGuard.isKnownUnknown(userId)) {
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
+        }
+        signInGuard.checkBackoff(userId);
+
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            signInGuard.onUnknownId(userId);
+            throw new RuntimeException("사용자를 찾을 수 없습니다.");
+        }
 
-        if (!passwordEncoder.matches(userDTO.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(userDTO.getPassword(), user.getPassword())) {
+            signInGuard.onFailure(userId);
             throw new RuntimeException("비밀번호가 일치하지 않습니다.");
         }
+        signInGuard.onSuccess(userId);
+        // 기존 해시가 목표 cost / 알고리즘보다 약하면 다시 해싱
+        passwordHashingService.upgradeIfNeeded(userDTO.getPassword(), user.getPassword(),
+                upgraded -> userRepository.updatePassword(user.getId(), user.getPassword(), upgraded));
         boolean deletionRequested = user.getDeleteRequestAt() != null;
 
-        return jwtTokenProvider.createToken(user.getId(), user.getRoles(), deletionRequested);
+        return jwtTokenProvider.createToken(user.getId(), user.getRoles(), deletionRequested,
+                user.getNickname(), tokenRevocationList.profileVersion(user.getId()));
+    }
+    // 현재 토큰만 무효화 (jti 가 없는 예전 토큰이면 그 사용자의 모든 토큰)
+    @Transactional
+    public String logout(Authentication authentication) {
+        if(authentication.getDetails() instanceof VerifiedClaims claims) {
+            tokenRevocationList.revoke(claims);
+        } else {
+            tokenRevocationList.revokeAll(authentication.getName());
+        }
+        return "Info: Logged out";
     }
     public UserNameDTO self(Authentication authentication, HttpServletRequest request, HttpServletResponse response){
 //        log.warn(authentication.toString());
@@ -89,17 +153,30 @@ public class UserServiceImpl implements UserDetailsService {
 //        log.warn(request.toString());
 //        log.warn(response.toString());
         String id = authentication.getName();
-        String nickname = userRepository.findById(id).get().getNickname();
+        // 토큰의 프로필 snapshot 이 최신이면 DB / 캐시 조회 없이 응답
+        if(authentication.getDetails() instanceof VerifiedClaims claims
+                && claims.nickname() != null && tokenRevocationList.isProfileCurrent(claims)) {
+            return new UserNameDTO(id, claims.nickname());
+        }
+        String nickname = requireProfile(id).nickname();
         return new UserNameDTO(id, nickname);
     }
     public int point(Authentication authentication) {
-        return userRepository.findById(authentication.getName()).get().getPoint();
+        return requireProfile(authentication.getName()).point();
+    }
+    private ProfileDTO requireProfile(String userId) {
+        ProfileDTO profile = userProfileCache.get(userId);
+        if(profile == null) {
+            throw new NoSuchElementException("User not found: " + userId);
+        }
+        return profile;
     }
     public boolean verifyPassword(String id, String password) {
-        User user = userRepository.findById(id).get();
-        return passwordEncoder.matches(password, user.getPassword());
+        String encodedPassword = userRepository.findPasswordById(id).get();
+        return passwordHashingService.matches(password, encodedPassword);
     }
 
+    // 중복 확인 API 용 (참고용). 다른 인스턴스의 가입 / 삭제도 반영되도록 항상 DB 로 확인
     public boolean byIdExist(String userId) {
         return userRepository.existsById(userId);
     }
@@ -124,12 +201,16 @@ public class UserServiceImpl implements UserDetailsService {
                 .build();
     }
 
+    @Transactional
     public String deleteAccountRequest(Authentication authentication) {
         String userId = authentication.getName();
-        Optional<User> user = userRepository.findById(userId);
-        if(user.isPresent()) {
+        if(userRepository.existsById(userId)) {
             // 로그인 된 계정 삭제예정으로 등록
             userRepository.updateDeleteRequestAt(userId, LocalDateTime.now());
+            userEventOutbox.record(UserEvent.Type.WITHDRAWAL_REQUESTED, userId, null);
+            // 지금까지 발급된 토큰은 모두 무효 (취소하려면 다시 로그인)
+            tokenRevocationList.revokeAll(userId);
+            userProfileCache.evict(userId);
             return "Info: Successfully Deleted Account";
         }
         else return "Error: User not found";
@@ -137,15 +218,16 @@ public class UserServiceImpl implements UserDetailsService {
 
     public LocalDateTime deleteAccountRequestedAt(Authentication authentication) {
         String userId = authentication.getName();
-        Optional<User> user = userRepository.findById(userId);
-        return user.map(User::getDeleteRequestAt).orElse(null);
+        return userRepository.findDeleteRequestAtById(userId).orElse(null);
     }
 
+    @Transactional
     public String cancelDeleteAccount(Authentication authentication){
         String userId = authentication.getName();
-        Optional<User> user = userRepository.findById(userId);
-        if(user.isPresent()) {
+        if(userRepository.existsById(userId)) {
             userRepository.updateDeleteRequestAt(userId, null);
+            userEventOutbox.record(UserEvent.Type.WITHDRAWAL_CANCELLED, userId, null);
+            userProfileCache.evict(userId);
             return "Info: Your account restored.";
         }
         else return null;
@@ -155,13 +237,8 @@ public class UserServiceImpl implements UserDetailsService {
     // cron = "초 분 시 일 월 요일"
     @Scheduled(cron = "0 0 0 * * ?")
     public void deleteExpiredAccounts() {
-        LocalDateTime thresholdDate = LocalDateTime.now().minusDays(7);
-        List<User> usersToDelete = userRepository.findAllByDeleteRequestAtBefore(thresholdDate);
-
-        for (User user : usersToDelete) {
-            userRepository.deleteById(user.getId());
-            System.out.println("Deleted user: " + user.getId());
-        }
+        // 실제 삭제는 전용 스레드에서 batch 단위로 수행
+        expiredAccountPurgeJob.submit();
     }
 
     public User personalInfromation(String userId) {
@@ -174,20 +251,34 @@ public class UserServiceImpl implements UserDetailsService {
         else return null;
     }
 
-    @Transactional
     public User updatePersonalInfromation(String userId, Map<String, String> request) {
-        // nickname, password 만 수정 가능
+        // nickname, password 만 수정 가능. 새 비밀번호는 트랜잭션을 열기 전에 해싱
+        String password = request.get("password");
+        String encodedPassword = password == null || password.isEmpty() ? null : passwordHashingService.encode(password);
+        return transactionTemplate.execute(status -> applyPersonalInformation(userId, request.get("nickname"), encodedPassword));
+    }
+
+    private User applyPersonalInformation(String userId, String nickname, String encodedPassword) {
         Optional<User> optionalUser = userRepository.findById(userId);
         if(optionalUser.isPresent()) {
             User user = optionalUser.get();
-            String password = request.get("password");
-            String nickname = request.get("nickname");
-            if(!password.isEmpty()) {
-                user.setPassword(passwordEncoder.encode(password));
+            if(encodedPassword != null) {
+                user.setPassword(encodedPassword);
             }
+            String previousNickname = user.getNickname();
             user.setNickname(nickname);
             try{
-                return userRepository.save(user);
+                User saved = userRepository.save(user);
+                userEventOutbox.record(UserEvent.Type.PROFILE_UPDATED, userId, saved.getNickname());
+                userProfileCache.evict(userId);
+                nicknameSearchIndex.rename(userId, saved.getNickname());
+                friendshipGraph.rename(userId, saved.getNickname());
+                if(!Objects.equals(previousNickname, saved.getNickname())) {
+                    // 이미 발급된 토큰의 nickname snapshot 은 더 이상 쓰지 않는다
+                    tokenRevocationList.bumpProfileVersion(userId);
+                    friendEventPublisher.publishAll(friendIds(userId), FriendEventDTO.Type.NICKNAME_CHANGED, userId, saved.getNickname());
+                }
+                return saved;
             } catch (DataIntegrityViolationException e) {
                 log.error(e.getMessage());
             } catch (Exception e) {
@@ -198,50 +289,128 @@ public class UserServiceImpl implements UserDetailsService {
     }
 
     public FriendDTO getUserFromString(String userId, String username) {
-        Optional<User> optionalUser = userRepository.findByNickname(username);
+        Optional<UserNameDTO> optionalUser = userRepository.findUserNameByNickname(username);
         if(optionalUser.isPresent()) {
             return getFriendDTOByOptionalUser(optionalUser.get(), userId);
         }
 
-        Optional<User> optionalUser2 = userRepository.findById(username);
+        Optional<UserNameDTO> optionalUser2 = userRepository.findUserNameById(username);
         return optionalUser2.map(user -> getFriendDTOByOptionalUser(user, userId)).orElse(null);
     }
-    private FriendDTO getFriendDTOByOptionalUser(User user, String userId) {
+    private FriendDTO getFriendDTOByOptionalUser(UserNameDTO user, String userId) {
         // 친구 요청: userId: 인증계정 본인 -> user: 상대방
         if(user.getId().equals(userId)) {
             return new FriendDTO(user.getId(), user.getNickname(), Friend.Status.YOU);
         }
 
-        Optional<Friend> friendship = friendRepository.findFriendByUserAndFriend(new User(user.getId()), new User(userId));
-        return friendship.map(friend -> new FriendDTO(friend.getFriend().getId(), friend.getFriend().getNickname(), friend.getStatus()))
-                .orElseGet(() -> new FriendDTO(user.getId(), user.getNickname(), Friend.Status.NOTYET));
+        Friend.Status status = friendshipGraph.isReady()
+                ? friendshipGraph.statusTowards(user.getId(), userId)
+                : friendRepository.findStatusByUserIdAndFriendId(user.getId(), userId).orElse(Friend.Status.NOTYET);
+        return new FriendDTO(user.getId(), user.getNickname(), status);
     }
 
-    public List<FriendDTO> friends(String userId) {
-        User user = new User(userId);
-        List<Friend> friendEntities = friendRepository.getFriendsByUserAndStatus(user, Friend.Status.FRIEND);
-        return getFriendDTOS(friendEntities, true);
+    // 닉네임 부분 일치 / 오타 허용 검색 (DB 조회는 친구 상태 확인 한 번)
+    // 인덱스를 적재하는 동안에는 DB 에서 prefix 일치만 찾는다
+    public List<FriendDTO> searchUsers(String userId, String query, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_SIZE));
+        if(!nicknameSearchIndex.isReady()) {
+            if(query == null || query.isBlank()) {
+                return List.of();
+            }
+            String pattern = query.strip().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+            return withFriendStatus(userId, userRepository.findUserNamesByNicknameLike(pattern, PageRequest.of(0, limit)));
+        }
+        List<UserNameDTO> matches = nicknameSearchIndex.search(query, limit);
+        return withFriendStatus(userId, matches);
     }
 
-    private List<FriendDTO> getFriendDTOS(List<Friend> friendEntities, boolean isSend) {
-        List<FriendDTO> friendDTOs = new ArrayList<>();
-        if(isSend) {
-            for(Friend friendEntity : friendEntities) {
-                User friend = friendEntity.getFriend();
-                friendDTOs.add(
-                        new FriendDTO(friend.getId(), friend.getNickname(), friendEntity.getStatus())
-                );
+    // 대기실 참가자 전체처럼 여러 사용자의 닉네임과 친구 상태를 쿼리 두 번으로 조회 (요청 순서 유지)
+    public List<FriendDTO> friendStatuses(String userId, List<String> targetIds) {
+        if(targetIds == null || targetIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> ids = targetIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .limit(MAX_BATCH_SIZE)
+                .toList();
+
+        Map<String, UserNameDTO> found = new HashMap<>();
+        for(UserNameDTO user : userRepository.findUserNamesByIdIn(ids)) {
+            found.put(user.getId(), user);
+        }
+        List<UserNameDTO> users = ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return withFriendStatus(userId, users);
+    }
+
+    private List<FriendDTO> withFriendStatus(String userId, List<UserNameDTO> users) {
+        if(users.isEmpty()) {
+            return List.of();
+        }
+        boolean fromGraph = friendshipGraph.isReady();
+        Map<String, Friend.Status> statuses = new HashMap<>();
+        if(!fromGraph) {
+            List<String> ids = users.stream().map(UserNameDTO::getId).toList();
+            for(FriendDTO relation : friendRepository.findStatusesTowards(userId, ids)) {
+                statuses.put(relation.getId(), relation.getStatus());
             }
         }
-        else{
-            for(Friend friendEntity : friendEntities) {
-                User user = friendEntity.getUser();
-                friendDTOs.add(
-                        new FriendDTO(user.getId(), user.getNickname(), friendEntity.getStatus())
-                );
+
+        List<FriendDTO> result = new ArrayList<>(users.size());
+        for(UserNameDTO user : users) {
+            Friend.Status status;
+            if(user.getId().equals(userId)) {
+                status = Friend.Status.YOU;
+            } else if(fromGraph) {
+                status = friendshipGraph.statusTowards(user.getId(), userId);
+            } else {
+                status = statuses.getOrDefault(user.getId(), Friend.Status.NOTYET);
             }
+            result.add(new FriendDTO(user.getId(), user.getNickname(), status));
         }
-        return friendDTOs;
+        return result;
+    }
+
+    public List<FriendDTO> friends(String userId) {
+        return friends(userId, null, null);
+    }
+
+    public List<FriendDTO> friends(String userId, String after, Integer size) {
+        if(friendshipGraph.isReady()) {
+            return friendshipGraph.friends(userId, after, limitOf(size));
+        }
+        return friendRepository.findSentFriendDTOs(userId, Friend.Status.FRIEND, after, pageOf(size));
+    }
+
+    private List<String> friendIds(String userId) {
+        return friends(userId).stream().map(UserNameDTO::getId).toList();
+    }
+
+    private static int limitOf(Integer size) {
+        return size == null ? Integer.MAX_VALUE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // size 가 없으면 전체 목록, 있으면 최대 MAX_PAGE_SIZE 까지
+    private static Pageable pageOf(Integer size) {
+        if(size == null) {
+            return Pageable.unpaged();
+        }
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    public List<FriendSuggestionDTO> friendSuggestions(String userId, int size) {
+        return friendSuggestionService.suggestions(userId, Math.max(1, Math.min(size, MAX_SEARCH_SIZE)));
+    }
+
+    public List<UserNameDTO> onlineFriends(String userId) {
+        return presenceService.onlineFriends(userId);
+    }
+
+    public List<UserNameDTO> mutualFriends(String userId, String otherId) {
+        return friendSuggestionService.mutualFriends(userId, otherId);
     }
 
     @Transactional
@@ -267,6 +436,9 @@ public class UserServiceImpl implements UserDetailsService {
             relationship.setStatus(Friend.Status.REQUEST);
             try {
                 friendRepository.save(relationship);
+                userEventOutbox.record(UserEvent.Type.FRIEND_REQUESTED, userId, friendId);
+                friendshipGraph.addRequest(userId, friendId);
+                friendEventPublisher.publish(friendId, FriendEventDTO.Type.REQUEST_RECEIVED, userId, getNickname(userId));
                 return new FriendDTO(userId, friendId, Friend.Status.REQUEST);
             } catch (DataIntegrityViolationException e) {
                 log.error(e.getMessage());
@@ -276,16 +448,19 @@ public class UserServiceImpl implements UserDetailsService {
     }
 
     public List<FriendDTO> friendRequests(String userId, boolean isSend) {
-        User user = new User(userId);
+        return friendRequests(userId, isSend, null, null);
+    }
 
-        List<Friend> friendEntities;
+    public List<FriendDTO> friendRequests(String userId, boolean isSend, String after, Integer size) {
+        if(friendshipGraph.isReady()) {
+            return isSend
+                    ? friendshipGraph.sentRequests(userId, after, limitOf(size))
+                    : friendshipGraph.receivedRequests(userId, after, limitOf(size));
+        }
         if(isSend) {
-            friendEntities = friendRepository.getFriendsByUserAndStatus(user, Friend.Status.REQUEST);
-        } else {
-            friendEntities = friendRepository.getFriendsByFriendAndStatus(user, Friend.Status.REQUEST);
+            return friendRepository.findSentFriendDTOs(userId, Friend.Status.REQUEST, after, pageOf(size));
         }
-
-        return getFriendDTOS(friendEntities, isSend);
+        return friendRepository.findReceivedFriendDTOs(userId, Friend.Status.REQUEST, after, pageOf(size));
     }
 
     @Transactional
@@ -309,6 +484,9 @@ public class UserServiceImpl implements UserDetailsService {
             try {
                 friendRepository.save(utf);
                 friendRepository.save(ftu);
+                userEventOutbox.record(UserEvent.Type.FRIEND_ACCEPTED, userId, friendId);
+                friendshipGraph.addFriendship(userId, friendId);
+                friendEventPublisher.publish(friendId, FriendEventDTO.Type.REQUEST_ACCEPTED, userId, getNickname(userId));
                 return new FriendDTO(utf.getFriend().getId(), utf.getFriend().getNickname(), utf.getStatus());
             } catch (DataIntegrityViolationException e) {
                 log.error(e.getMessage());
@@ -320,7 +498,10 @@ public class UserServiceImpl implements UserDetailsService {
     @Transactional
     public UserNameDTO deleteFriendRequest(String userId, String targetId) {
         Optional<String> targetNickname = friendRepository.getNicknameByUserId(targetId);
-        friendRepository.deleteFriendByUserAndFriendAndStatus(new User(targetId), new User(userId), Friend.Status.REQUEST);;
+        friendRepository.deleteFriendByUserAndFriendAndStatus(new User(targetId), new User(userId), Friend.Status.REQUEST);
+        userEventOutbox.record(UserEvent.Type.FRIEND_REQUEST_REMOVED, userId, targetId);
+        friendshipGraph.removeRequest(targetId, userId);
+        friendEventPublisher.publish(targetId, FriendEventDTO.Type.REQUEST_REMOVED, userId, getNickname(userId));
 
         return new UserNameDTO(targetId, targetNickname.get());
     }
@@ -331,9 +512,18 @@ public class UserServiceImpl implements UserDetailsService {
         friendRepository.deleteFriendByUserAndFriendAndStatus(new User(userId), new User(friendId), Friend.Status.FRIEND);
         // 상대 친구 삭제
         friendRepository.deleteFriendByUserAndFriendAndStatus(new User(friendId), new User(userId), Friend.Status.FRIEND);
+        userEventOutbox.record(UserEvent.Type.FRIEND_REMOVED, userId, friendId);
+        friendshipGraph.removeFriendship(userId, friendId);
+        friendEventPublisher.publish(friendId, FriendEventDTO.Type.FRIEND_REMOVED, userId, getNickname(userId));
         return "Friendship deletion success";
     }
 
+    // 대기실 참가 알림은 outbox 를 거쳐 relay 가 비동기로 발행
+    @Transactional
+    public void joinWaitingRoom(String userId) {
+        userEventOutbox.record(UserEvent.Type.WAITING_ROOM_JOINED, userId, null);
+    }
+
 //    public List<RewardDTO> rewards(String userId) {
 //
 //    }
@@ -347,21 +537,12 @@ public class UserServiceImpl implements UserDetailsService {
 //    public int points(String userId) {
 //    }
     public ProfileDTO getProfile(String userId) {
-        Optional<User> optionalUser = userRepository.findById(userId);
-        if(optionalUser.isPresent()) {
-            User user = optionalUser.get();
-            return new ProfileDTO(
-                    userId,
-                    user.getNickname(),
-                    user.getPoint()
-                    );
-        }
-        return null;
+        return userProfileCache.get(userId);
     }
 
     public String getNickname(String userId) {
-        Optional<User> optionalUser = userRepository.findById(userId);
-        return optionalUser.map(User::getNickname).orElse(null);
+        ProfileDTO profile = userProfileCache.get(userId);
+        return profile == null ? null : profile.nickname();
     }
 
     public User getUserById(String userId) throws Exception {
@@ -0,0 +1,106 @@
+package com.example.user.utility;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * MySQL GET_LOCK 으로 여러 인스턴스 중 하나만 작업을 맡도록 한다.
+ * lock 은 connection 에 묶여 있으므로 leader 인 동안 connection 하나를 계속 잡고 있고,
+ * 인스턴스가 죽어 connection 이 끊기면 DB 가 lock 을 풀어 다른 인스턴스가 이어받는다.
+ * 짧은 작업을 한 인스턴스씩 돌릴 때는 tryAcquire(waitSeconds) 로 잡고 close() 로 바로 푼다.
+ * 한 스레드(예: fixed-delay 스케줄)에서만 호출한다.
+ */
+@Slf4j
+public class DatabaseLeaderLock implements AutoCloseable {
+    private final DataSource dataSource;
+    private final String name;
+    private Connection connection;
+
+    public DatabaseLeaderLock(DataSource dataSource, String name) {
+        this.dataSource = dataSource;
+        this.name = name;
+    }
+
+    // 이미 leader 거나 지금 lock 을 얻으면 true
+    public boolean tryAcquire() {
+        return tryAcquire(0);
+    }
+
+    // 다른 인스턴스가 lock 을 쥐고 있으면 최대 waitSeconds 동안 기다린다
+    public boolean tryAcquire(int waitSeconds) {
+        if (connection != null) {
+            try {
+                if (connection.isValid(1)) {
+                    return true;
+                }
+            } catch (SQLException ignored) {
+            }
+            log.warn("Lost leader lock connection for {}", name);
+            closeQuietly(connection);
+            connection = null;
+        }
+
+        Connection candidate = null;
+        try {
+            candidate = dataSource.getConnection();
+            if (getLock(candidate, waitSeconds) == 1) {
+                connection = candidate;
+                log.info("Acquired leader lock {}", name);
+                return true;
+            }
+        } catch (SQLException e) {
+            log.warn("Cannot acquire leader lock {}: {}", name, e.getMessage());
+        }
+        closeQuietly(candidate);
+        return false;
+    }
+
+    // pool 로 돌아간 connection 이 lock 을 계속 쥐고 있지 않도록 반납 전에 해제
+    @Override
+    public void close() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            queryInt(connection, "SELECT RELEASE_LOCK(?)");
+        } catch (SQLException e) {
+            log.warn("Cannot release leader lock {}: {}", name, e.getMessage());
+        }
+        closeQuietly(connection);
+        connection = null;
+    }
+
+    private int getLock(Connection target, int waitSeconds) throws SQLException {
+        try (PreparedStatement statement = target.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, name);
+            statement.setInt(2, waitSeconds);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+
+    private int queryInt(Connection target, String sql) throws SQLException {
+        try (PreparedStatement statement = target.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static void closeQuietly(Connection target) {
+        if (target == null) {
+            return;
+        }
+        try {
+            target.close();
+        } catch (SQLException ignored) {
+        }
+    }
+}
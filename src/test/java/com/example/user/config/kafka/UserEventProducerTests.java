@@ -0,0 +1,87 @@
+package com.example.user.config.kafka;
+
+import com.example.user.dto.UserEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EmbeddedKafka(partitions = 1, topics = UserEventProducerTests.TOPIC)
+class UserEventProducerTests {
+
+	static final String TOPIC = "user-events-test";
+
+	private final UserEventSerializer serializer = new UserEventSerializer();
+	private final UserEventDeserializer deserializer = new UserEventDeserializer();
+
+	@Test
+	void roundTripsEveryType() {
+		for (UserEvent.Type type : UserEvent.Type.values()) {
+			UserEvent event = new UserEvent(Long.MAX_VALUE, type, "사용자1", type.ordinal() % 2 == 0 ? null : "닉네임", 1_700_000_000_000L);
+
+			assertThat(deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event))).isEqualTo(event);
+		}
+	}
+
+	@Test
+	void binaryIsSmallerThanJson() throws Exception {
+		UserEvent event = new UserEvent(123456L, UserEvent.Type.WAITING_ROOM_JOINED, "player01", null, System.currentTimeMillis());
+
+		byte[] binary = serializer.serialize(TOPIC, event);
+		byte[] json = new ObjectMapper().writeValueAsBytes(event);
+
+		assertThat(binary.length).isLessThan(json.length / 3);
+	}
+
+	@Test
+	void publishesBatchToBroker(EmbeddedKafkaBroker broker) {
+		Map<String, Object> producerProps = UserEventKafkaConfig.producerProperties(
+				KafkaTestUtils.producerProps(broker), 20, 65536, "lz4");
+		DefaultKafkaProducerFactory<String, UserEvent> producerFactory = new DefaultKafkaProducerFactory<>(producerProps);
+		KafkaTemplate<String, UserEvent> template = new KafkaTemplate<>(producerFactory);
+
+		List<UserEvent> sent = new ArrayList<>();
+		List<CompletableFuture<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			UserEvent event = new UserEvent(i, UserEvent.Type.FRIEND_REQUESTED, "user" + (i % 5), "friend" + i, 1_700_000_000_000L + i);
+			sent.add(event);
+			futures.add(template.send(TOPIC, event.userId(), event));
+		}
+		CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+		Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("user-events-test", "false", broker);
+		consumerProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+		try (Consumer<String, UserEvent> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+				new StringDeserializer(), new UserEventDeserializer()).createConsumer()) {
+			broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+			List<UserEvent> received = new ArrayList<>();
+			while (received.size() < sent.size()) {
+				ConsumerRecords<String, UserEvent> records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10));
+				assertThat(records.isEmpty()).isFalse();
+				records.forEach(record -> {
+					assertThat(record.key()).isEqualTo(record.value().userId());
+					received.add(record.value());
+				});
+			}
+			assertThat(received).containsExactlyElementsOf(sent);
+		} finally {
+			producerFactory.destroy();
+		}
+	}
+}
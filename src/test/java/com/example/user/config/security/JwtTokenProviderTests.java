@@ -0,0 +1,105 @@
+package com.example.user.config.security;
+
+import com.example.user.entity.User;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTests {
+
+	private static final String LEGACY_SECRET = "bGVnYWN5LWhzMjU2LXNlY3JldC1mb3ItdW5pdC10ZXN0cy1vbmx5ISE=";
+
+	private final JwtKey key = JwtKey.generate(SignatureAlgorithm.ES256, Instant.now(), Instant.now().plus(Duration.ofDays(1)));
+	private final JwtKeySet keySet = new JwtKeySet();
+	private final String legacyUntil = Instant.now().plus(Duration.ofDays(1)).toString();
+	private final JwtTokenProvider provider;
+
+	JwtTokenProviderTests() {
+		keySet.replaceAll(List.of(key));
+		provider = new JwtTokenProvider(new VerifiedTokenCache(100, Duration.ZERO), keySet, LEGACY_SECRET, legacyUntil, true);
+	}
+
+	@Test
+	void signsWithKeyIdAndVerifiesWithPublicKey() {
+		String token = provider.createToken("user", Set.of(User.UserRole.ROLE_USER), false);
+
+		VerifiedClaims claims = provider.verify(token);
+		assertThat(claims.username()).isEqualTo("user");
+		assertThat(claims.tokenId()).isNotNull();
+
+		// 다른 서비스는 공개키만으로 검증한다
+		assertThat(Jwts.parserBuilder().setSigningKey(key.publicKey()).build()
+				.parseClaimsJws(token).getHeader().getKeyId()).isEqualTo(key.kid());
+	}
+
+	@Test
+	void carriesProfileSnapshot() {
+		VerifiedClaims claims = provider.verify(provider.createToken("user", Set.of(User.UserRole.ROLE_USER), false, "닉네임", 1_700_000_000L));
+
+		assertThat(claims.nickname()).isEqualTo("닉네임");
+		assertThat(claims.profileVersion()).isEqualTo(1_700_000_000L);
+	}
+
+	@Test
+	void acceptsLegacyHs256TokenWithoutKeyId() {
+		String legacy = legacyToken();
+
+		assertThat(provider.verify(legacy)).isNotNull();
+		assertThat(new JwtTokenProvider(new VerifiedTokenCache(100, Duration.ZERO), keySet, "", "", true).verify(legacy)).isNull();
+	}
+
+	@Test
+	void rejectsLegacyTokenAfterCutoff() {
+		String cutoff = Instant.now().minusSeconds(1).toString();
+		JwtTokenProvider expired = new JwtTokenProvider(new VerifiedTokenCache(100, Duration.ZERO), keySet, LEGACY_SECRET, cutoff, true);
+
+		assertThat(expired.verify(legacyToken())).isNull();
+		assertThatThrownBy(() -> new JwtTokenProvider(new VerifiedTokenCache(100, Duration.ZERO), keySet, LEGACY_SECRET, "", true))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void rejectsHmacTokenClaimingAsymmetricKeyId() {
+		String forged = Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, key.kid())
+				.setSubject("admin")
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(new SecretKeySpec(Decoders.BASE64.decode(LEGACY_SECRET), "HmacSHA256"), SignatureAlgorithm.HS256)
+				.compact();
+
+		assertThat(provider.verify(forged)).isNull();
+	}
+
+	private static String legacyToken() {
+		return Jwts.builder()
+				.setSubject("user")
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + 60_000))
+				.signWith(SignatureAlgorithm.HS256, LEGACY_SECRET)
+				.compact();
+	}
+
+	@Test
+	void publishesEcJwk() {
+		@SuppressWarnings("unchecked")
+		Map<String, Object> jwk = ((List<Map<String, Object>>) keySet.jwks().get("keys")).get(0);
+
+		assertThat(jwk).containsEntry("kty", "EC").containsEntry("crv", "P-256").containsEntry("alg", "ES256")
+				.containsEntry("kid", key.kid());
+		assertThat((String) jwk.get("x")).hasSize(43);
+		assertThat((String) jwk.get("y")).hasSize(43);
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.user.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordEncoderMigrationTests {
+
+	private final PasswordEncoder passwordEncoder = SecurityConfig.createPasswordEncoder("bcrypt", 6);
+
+	@Test
+	void legacyHashWithoutPrefixStillMatches() {
+		String legacy = new BCryptPasswordEncoder(4).encode("password");
+
+		assertThat(passwordEncoder.matches("password", legacy)).isTrue();
+		assertThat(passwordEncoder.matches("wrong", legacy)).isFalse();
+		assertThat(passwordEncoder.upgradeEncoding(legacy)).isTrue();
+	}
+
+	@Test
+	void weakerCostIsUpgraded() {
+		String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("password");
+
+		assertThat(passwordEncoder.matches("password", weaker)).isTrue();
+		assertThat(passwordEncoder.upgradeEncoding(weaker)).isTrue();
+	}
+
+	@Test
+	void currentEncodingIsNotUpgraded() {
+		String encoded = passwordEncoder.encode("password");
+
+		assertThat(encoded).startsWith("{bcrypt}");
+		assertThat(passwordEncoder.upgradeEncoding(encoded)).isFalse();
+	}
+
+	@Test
+	void otherAlgorithmIsMigratedToTarget() {
+		String pbkdf2 = SecurityConfig.createPasswordEncoder("pbkdf2", 6).encode("password");
+
+		assertThat(passwordEncoder.matches("password", pbkdf2)).isTrue();
+		assertThat(passwordEncoder.upgradeEncoding(pbkdf2)).isTrue();
+	}
+}
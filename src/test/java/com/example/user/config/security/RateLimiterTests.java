@@ -0,0 +1,46 @@
+package com.example.user.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final RateLimiter rateLimiter = new RateLimiter(new RateLimitProperties(true, Duration.ofMinutes(1), 1000, List.of(
+			new RateLimitProperties.Policy("auth", List.of("/api/v1/users/sign-in"), 0.001, 3),
+			new RateLimitProperties.Policy("default", List.of("/"), 1000, 100)
+	)), meterRegistry);
+
+	@Test
+	void firstMatchingPolicyWins() {
+		assertThat(rateLimiter.ruleFor("/api/v1/users/sign-in").name()).isEqualTo("auth");
+		assertThat(rateLimiter.ruleFor("/api/v1/users/self").name()).isEqualTo("default");
+	}
+
+	@Test
+	void burstIsAllowedThenRejected() {
+		RateLimiter.Rule rule = rateLimiter.ruleFor("/api/v1/users/sign-in");
+
+		for (int i = 0; i < 3; i++) {
+			assertThat(rateLimiter.tryAcquire(rule, "ip:1.1.1.1")).isZero();
+		}
+		assertThat(rateLimiter.tryAcquire(rule, "ip:1.1.1.1")).isPositive();
+		assertThat(meterRegistry.counter("security.rate-limit.rejected", "policy", "auth").count()).isEqualTo(1);
+	}
+
+	@Test
+	void clientsHaveSeparateBuckets() {
+		RateLimiter.Rule rule = rateLimiter.ruleFor("/api/v1/users/sign-in");
+
+		for (int i = 0; i < 3; i++) {
+			rateLimiter.tryAcquire(rule, "ip:1.1.1.1");
+		}
+		assertThat(rateLimiter.tryAcquire(rule, "ip:2.2.2.2")).isZero();
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.user.config.security;
+
+import com.example.user.entity.TokenRevocation;
+import com.example.user.repository.TokenRevocationRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationListTests {
+
+	private final TokenRevocationRepository repository = mock(TokenRevocationRepository.class);
+	private final TokenRevocationList revocationList = new TokenRevocationList(repository);
+
+	TokenRevocationListTests() {
+		when(repository.save(any(TokenRevocation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void revokesSingleToken() {
+		VerifiedClaims loggedOut = claims("user", "jti-1", Instant.now());
+		VerifiedClaims other = claims("user", "jti-2", Instant.now());
+
+		revocationList.revoke(loggedOut);
+
+		assertThat(revocationList.isRevoked(loggedOut)).isTrue();
+		assertThat(revocationList.isRevoked(other)).isFalse();
+	}
+
+	@Test
+	void revokesEveryTokenIssuedBeforeNotBefore() {
+		VerifiedClaims before = claims("user", "jti-1", Instant.now().minusMillis(5));
+		VerifiedClaims legacy = claims("user", null, Instant.now().minus(1, ChronoUnit.DAYS));
+
+		revocationList.revokeAll("user");
+		// 탈퇴 요청 직후 같은 초에 다시 로그인한 토큰은 유효해야 한다
+		VerifiedClaims signedInAgain = claims("user", "jti-3", Instant.now());
+
+		assertThat(revocationList.isRevoked(before)).isTrue();
+		assertThat(revocationList.isRevoked(legacy)).isTrue();
+		assertThat(revocationList.isRevoked(signedInAgain)).isFalse();
+		assertThat(revocationList.isRevoked(claims("someone-else", "jti-4", Instant.now()))).isFalse();
+	}
+
+	@Test
+	void profileChangeInvalidatesSnapshotButNotToken() {
+		VerifiedClaims before = profileClaims("user", revocationList.profileVersion("user"));
+		assertThat(revocationList.isProfileCurrent(before)).isTrue();
+
+		revocationList.bumpProfileVersion("user");
+		VerifiedClaims after = profileClaims("user", revocationList.profileVersion("user"));
+
+		assertThat(revocationList.isProfileCurrent(before)).isFalse();
+		assertThat(revocationList.isRevoked(before)).isFalse();
+		assertThat(revocationList.isProfileCurrent(after)).isTrue();
+	}
+
+	@Test
+	void profileVersionIncreasesWithinTheSameSecond() {
+		revocationList.bumpProfileVersion("user");
+		long first = revocationList.profileVersion("user");
+		revocationList.bumpProfileVersion("user");
+
+		assertThat(revocationList.profileVersion("user")).isGreaterThan(first);
+	}
+
+	private static VerifiedClaims claims(String username, String tokenId, Instant issuedAt) {
+		return new VerifiedClaims(username, tokenId, List.of(), false, null, 0, issuedAt, issuedAt.plus(90, ChronoUnit.DAYS));
+	}
+
+	private static VerifiedClaims profileClaims(String username, long profileVersion) {
+		Instant now = Instant.now();
+		return new VerifiedClaims(username, "jti", List.of(), false, "nickname", profileVersion, now, now.plus(90, ChronoUnit.DAYS));
+	}
+}
@@ -0,0 +1,101 @@
+package com.example.user.config.security;
+
+import com.example.user.entity.User;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTests {
+
+	private final AtomicInteger verifications = new AtomicInteger();
+
+	@Test
+	void servesVerifiedTokenFromCache() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(100, Duration.ofMinutes(10));
+		Function<String, VerifiedClaims> verifier = verifier(Instant.now().plus(Duration.ofHours(1)));
+
+		cache.get("token", verifier);
+		cache.get("token", verifier);
+
+		assertThat(verifications).hasValue(1);
+	}
+
+	@Test
+	void doesNotServeTokenPastItsExpiry() throws InterruptedException {
+		VerifiedTokenCache cache = new VerifiedTokenCache(100, Duration.ofMinutes(10));
+		Function<String, VerifiedClaims> verifier = verifier(Instant.now().plusMillis(100));
+
+		cache.get("token", verifier);
+		Thread.sleep(200);
+		cache.get("token", verifier);
+
+		assertThat(verifications).hasValue(2);
+	}
+
+	@Test
+	void doesNotKeepTokenLongerThanMaxTtl() throws InterruptedException {
+		VerifiedTokenCache cache = new VerifiedTokenCache(100, Duration.ofMillis(100));
+		Function<String, VerifiedClaims> verifier = verifier(Instant.now().plus(Duration.ofHours(1)));
+
+		cache.get("token", verifier);
+		Thread.sleep(200);
+		cache.get("token", verifier);
+
+		assertThat(verifications).hasValue(2);
+	}
+
+	@Test
+	void doesNotCacheInvalidToken() {
+		VerifiedTokenCache cache = new VerifiedTokenCache(100, Duration.ofMinutes(10));
+		Function<String, VerifiedClaims> rejecting = token -> {
+			verifications.incrementAndGet();
+			return null;
+		};
+
+		assertThat(cache.get("token", rejecting)).isNull();
+		assertThat(cache.get("token", rejecting)).isNull();
+		assertThat(verifications).hasValue(2);
+	}
+
+	@Test
+	void providerNeverAcceptsExpiredOrTamperedToken() {
+		JwtKey key = JwtKey.generate(SignatureAlgorithm.ES256, Instant.now(), Instant.now().plus(Duration.ofDays(1)));
+		JwtKeySet keySet = new JwtKeySet();
+		keySet.replaceAll(List.of(key));
+		JwtTokenProvider provider = new JwtTokenProvider(new VerifiedTokenCache(100, Duration.ofMinutes(10)), keySet, "", "", true);
+
+		String expired = Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, key.kid())
+				.setSubject("user")
+				.setExpiration(new Date(System.currentTimeMillis() - 1_000))
+				.signWith(key.privateKey(), key.algorithm())
+				.compact();
+		String valid = provider.createToken("user", Set.of(User.UserRole.ROLE_USER), false);
+		String tampered = valid.substring(0, valid.length() - 4) + "AAAA";
+
+		assertThat(provider.verify(valid)).isNotNull();
+		// 검증에 실패한 토큰은 캐시에 남지 않으므로 다시 물어도 거절된다
+		for (int i = 0; i < 2; i++) {
+			assertThat(provider.verify(expired)).isNull();
+			assertThat(provider.verify(tampered)).isNull();
+		}
+	}
+
+	private Function<String, VerifiedClaims> verifier(Instant expiresAt) {
+		return token -> {
+			verifications.incrementAndGet();
+			return new VerifiedClaims("user", "jti", List.of(), false, null, 0, Instant.now(), expiresAt);
+		};
+	}
+}
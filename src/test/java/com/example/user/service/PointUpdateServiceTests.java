@@ -0,0 +1,135 @@
+package com.example.user.service;
+
+import com.example.user.dto.GameResultEvent;
+import com.example.user.dto.UserEvent;
+import com.example.user.entity.OutboxEvent;
+import com.example.user.entity.User;
+import com.example.user.repository.OutboxEventRepository;
+import com.example.user.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:points;MODE=MySQL;NON_KEYWORDS=USER",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PointUpdateService.class, UserEventOutbox.class, PointUpdateServiceTests.Metrics.class})
+class PointUpdateServiceTests {
+
+	@TestConfiguration
+	static class Metrics {
+		@Bean
+		MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+	}
+
+	@Autowired
+	private PointUpdateService pointUpdateService;
+	@Autowired
+	private UserRepository userRepository;
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@MockBean
+	private UserProfileCache userProfileCache;
+
+	@BeforeEach
+	void setUp() {
+		userRepository.saveAllAndFlush(List.of(user("alice", 100), user("bob", 50), user("carol", 0)));
+	}
+
+	@Test
+	void aggregatesPerUserIntoOneUpdate() {
+		int changed = pointUpdateService.apply(List.of(
+				new GameResultEvent("e1", "g1", "alice", 10),
+				new GameResultEvent("e2", "g2", "alice", 5),
+				new GameResultEvent("e3", "g1", "bob", -20),
+				new GameResultEvent("e4", "g2", "carol", 3),
+				new GameResultEvent("e5", "g3", "carol", -3)));
+
+		// carol 은 합이 0 이라 바뀌지 않는다
+		assertThat(changed).isEqualTo(2);
+		assertThat(pointOf("alice")).isEqualTo(115);
+		assertThat(pointOf("bob")).isEqualTo(30);
+		assertThat(pointOf("carol")).isZero();
+		verify(userProfileCache).evictAll(Set.of("alice", "bob"));
+	}
+
+	@Test
+	void recordsPointChangedOutboxRowWithDelta() {
+		pointUpdateService.apply(List.of(
+				new GameResultEvent("e1", "g1", "alice", 10),
+				new GameResultEvent("e2", "g1", "bob", -5),
+				new GameResultEvent("e3", "g2", "alice", 7)));
+
+		assertThat(outboxEventRepository.findAll())
+				.extracting(OutboxEvent::getType, OutboxEvent::getUserId, OutboxEvent::getData)
+				.containsExactlyInAnyOrder(
+						tuple(UserEvent.Type.POINT_CHANGED, "alice", "17"),
+						tuple(UserEvent.Type.POINT_CHANGED, "bob", "-5"));
+	}
+
+	@Test
+	void skipsDuplicateEventIdsWithinBatch() {
+		int changed = pointUpdateService.apply(List.of(
+				new GameResultEvent("e1", "g1", "alice", 10),
+				new GameResultEvent("e1", "g1", "alice", 10)));
+
+		assertThat(changed).isEqualTo(1);
+		assertThat(pointOf("alice")).isEqualTo(110);
+	}
+
+	@Test
+	void skipsEventIdsAppliedInEarlierBatch() {
+		pointUpdateService.apply(List.of(new GameResultEvent("e1", "g1", "alice", 10)));
+
+		int changed = pointUpdateService.apply(List.of(
+				new GameResultEvent("e1", "g1", "alice", 10),
+				new GameResultEvent("e2", "g1", "bob", 1)));
+
+		assertThat(changed).isEqualTo(1);
+		assertThat(pointOf("alice")).isEqualTo(110);
+		assertThat(pointOf("bob")).isEqualTo(51);
+		assertThat(outboxEventRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void ignoresMissingUsersAndMarksTheirEventsProcessed() {
+		pointUpdateService.apply(List.of(
+				new GameResultEvent("e1", "g1", "ghost", 10),
+				new GameResultEvent("e2", "g1", "alice", 1)));
+
+		assertThat(pointOf("alice")).isEqualTo(101);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user WHERE id = 'ghost'", Integer.class)).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM processed_point_event", Integer.class)).isEqualTo(2);
+	}
+
+	private int pointOf(String userId) {
+		return jdbcTemplate.queryForObject("SELECT point FROM user WHERE id = ?", Integer.class, userId);
+	}
+
+	private static User user(String id, int point) {
+		return User.builder().id(id).nickname(id).password("{noop}pw").point(point).build();
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.user.service;
+
+import com.example.user.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SignInGuardTests {
+
+	private final SignInGuard signInGuard = new SignInGuard(new SimpleMeterRegistry(),
+			Duration.ofMinutes(1), 1000, 2, Duration.ofMinutes(1), Duration.ofMinutes(10));
+
+	@Test
+	void unknownIdIsRememberedUntilSignUp() {
+		assertThat(signInGuard.isKnownUnknown("ghost")).isFalse();
+
+		signInGuard.onUnknownId("ghost");
+		assertThat(signInGuard.isKnownUnknown("ghost")).isTrue();
+
+		signInGuard.onSignUp("ghost");
+		assertThat(signInGuard.isKnownUnknown("ghost")).isFalse();
+	}
+
+	@Test
+	void backoffStartsAfterFreeAttemptsAndDoubles() {
+		signInGuard.onFailure("user");
+		signInGuard.onFailure("user");
+		assertThatCode(() -> signInGuard.checkBackoff("user")).doesNotThrowAnyException();
+
+		signInGuard.onFailure("user");
+		assertThatThrownBy(() -> signInGuard.checkBackoff("user"))
+				.isInstanceOfSatisfying(TooManyRequestsException.class,
+						e -> assertThat(e.getRetryAfterSeconds()).isBetween(59L, 60L));
+
+		signInGuard.onFailure("user");
+		assertThatThrownBy(() -> signInGuard.checkBackoff("user"))
+				.isInstanceOfSatisfying(TooManyRequestsException.class,
+						e -> assertThat(e.getRetryAfterSeconds()).isBetween(119L, 120L));
+	}
+
+	@Test
+	void successClearsFailures() {
+		for (int i = 0; i < 3; i++) {
+			signInGuard.onFailure("user");
+		}
+		signInGuard.onSuccess("user");
+
+		assertThatCode(() -> signInGuard.checkBackoff("user")).doesNotThrowAnyException();
+	}
+}